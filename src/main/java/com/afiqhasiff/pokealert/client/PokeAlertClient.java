@@ -1,13 +1,13 @@
 package com.afiqhasiff.pokealert.client;
 
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 
 import net.minecraft.client.option.KeyBinding;
 import net.minecraft.client.util.InputUtil;
-import net.minecraft.entity.Entity;
-import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.registry.Registries;
 import net.minecraft.registry.Registry;
 import net.minecraft.sound.SoundEvent;
@@ -15,21 +15,32 @@ import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.Identifier;
 import org.lwjgl.glfw.GLFW;
-import java.util.ArrayList;
-import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import com.afiqhasiff.pokealert.client.config.PokeAlertConfig;
 import com.afiqhasiff.pokealert.client.config.ConfigManager;
+import com.afiqhasiff.pokealert.client.config.TelegramConfig;
 import com.afiqhasiff.pokealert.client.command.PokeAlertCommand;
+import com.afiqhasiff.pokealert.client.detection.CategoryRegistry;
+import com.afiqhasiff.pokealert.client.detection.SpawnDetector;
+import com.afiqhasiff.pokealert.client.detection.SpawnFilter;
+import com.afiqhasiff.pokealert.client.detection.SpawnPipeline;
 import com.afiqhasiff.pokealert.client.notification.InGameNotification;
 import com.afiqhasiff.pokealert.client.notification.NotificationManager;
-import com.afiqhasiff.pokealert.client.notification.PokemonSpawnData;
 import com.afiqhasiff.pokealert.client.notification.TelegramNotification;
 import com.afiqhasiff.pokealert.client.notification.EggTimerManager;
+import com.afiqhasiff.pokealert.client.util.ChatPrefix;
+import com.afiqhasiff.pokealert.client.util.HttpTransport;
+import com.afiqhasiff.pokealert.client.util.RarityScraper;
+import com.afiqhasiff.pokealert.client.util.SpawnPoolRarity;
+import com.afiqhasiff.pokealert.client.util.SpeciesCatalog;
 
 public class PokeAlertClient implements ClientModInitializer {
     public static final String MOD_ID = "pokealert";
@@ -38,12 +49,12 @@ public class PokeAlertClient implements ClientModInitializer {
     // Singleton instance for accessing from config screen
     private static PokeAlertClient instance;
 
-    // cobblemonCache used to prevent duplicate messages after a pokemon is spawned
-    // when a player recalls and redeploys a pokemon it get a new ID though :/
-    public ArrayList<UUID> cobblemonCache = new ArrayList<>();
     public PokeAlertConfig config;
-    public String[] whitelist;
+    // Volatile: compiled on the client thread, read by the spawn pipeline thread
+    public volatile SpawnFilter spawnFilter;
     public NotificationManager notificationManager;
+    public SpawnDetector spawnDetector;
+    public SpawnPipeline spawnPipeline;
 
     public static final Identifier NOTIFICATION_SOUND_ID = Identifier.of(MOD_ID, "pla_notification");
     public static SoundEvent NOTIFICATION_SOUND_EVENT;
@@ -71,12 +82,20 @@ public class PokeAlertClient implements ClientModInitializer {
         // Initialize configuration system
         ConfigManager.initialize();
         config = ConfigManager.getConfig();
-        whitelist = config.getCombinedWhitelist();
+        
+        // Load species data and detection categories before compiling the filter
+        SpeciesCatalog.initialize();
+        CategoryRegistry.initialize();
+        spawnFilter = SpawnFilter.compile(config);
+        
+        // Load persisted rarities so known species never hit the network
+        RarityScraper.initialize();
         
         // Initialize notification system
         notificationManager = new NotificationManager(30000); // 30 second cooldown
         notificationManager.registerService(new InGameNotification());
         notificationManager.registerService(new TelegramNotification());
+        notificationManager.finishRegistration();
         
         // Register keybindings
         toggleModKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
@@ -96,7 +115,30 @@ public class PokeAlertClient implements ClientModInitializer {
         // Register commands
         PokeAlertCommand.register();
         
-        LOGGER.info("PokéAlert initialized with {} whitelisted Pokemon (Mod Enabled: {})", whitelist.length, config.modEnabled);
+        // Register event-driven spawn detection and the off-thread pipeline behind it
+        spawnPipeline = new SpawnPipeline(this);
+        spawnDetector = new SpawnDetector(this);
+        spawnDetector.register();
+        
+        // Index the spawn pool (if this world has one locally), then fetch rarities
+        // for everything else we might alert on before the first spawn does.
+        // Connections are opened now too, so the first alert skips the TLS handshake.
+        ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> {
+            SpawnPoolRarity.rebuild();
+            warmUpConnections();
+            prewarmRarities();
+        });
+        
+        // Stop worker threads and close the notification outbox; undelivered alerts
+        // stay journaled and are sent on the next start
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> {
+            spawnPipeline.shutdown();
+            notificationManager.shutdown();
+            RarityScraper.shutdown();
+            HttpTransport.shutdown();
+        });
+        
+        LOGGER.info("PokéAlert initialized with {} whitelisted Pokemon (Mod Enabled: {})", spawnFilter.getConfiguredNameCount(), config.modEnabled);
         
         ClientTickEvents.END_CLIENT_TICK.register(client -> {
             // Process toggle mod keybinding
@@ -106,10 +148,7 @@ public class PokeAlertClient implements ClientModInitializer {
                 
                 // Send feedback message only if in-game text is enabled
                 if (client.player != null && config.inGameTextEnabled) {
-                    Text message = Text.literal("[")
-                        .formatted(Formatting.GRAY)
-                        .append(Text.literal("PokeAlert").formatted(Formatting.RED))
-                        .append(Text.literal("] ").formatted(Formatting.GRAY))
+                    Text message = ChatPrefix.prefixed()
                         .append(Text.literal("Mod ").formatted(Formatting.WHITE))
                         .append(Text.literal(config.modEnabled ? "Enabled" : "Disabled")
                             .formatted(config.modEnabled ? Formatting.GREEN : Formatting.RED));
@@ -124,57 +163,8 @@ public class PokeAlertClient implements ClientModInitializer {
                 timerManager.handleTimerToggle();
             }
             
-            PlayerEntity player = client.player;
-            
-            // Check if mod is enabled and world exists
-            if (!config.modEnabled || client.world == null || player == null) {
-                return;
-            }
-            
-            // Check if current world is excluded
-            String worldName = client.world.getRegistryKey().getValue().toString();
-            if (config.isWorldExcluded(worldName)) {
-                return;
-            }
-
-            for (Entity entity : client.world.getEntities()) {
-                if (
-                    !entity.getType().toString().equals("entity.cobblemon.pokemon")
-                    || cobblemonCache.contains(entity.getUuid())
-                ) {
-                    continue;
-                }
-                cobblemonCache.add(entity.getUuid());
-                
-                PokemonEntity pokemonEntity = (PokemonEntity) entity;
-                String fullName = pokemonEntity.getName().getString();
-                
-                // Skip boss Pokemon (they contain formatting codes § and "Boss" text)
-                if (fullName.contains("§") || fullName.toLowerCase().contains("boss")) {
-                    continue;
-                }
-                
-                // Strip "Shiny " prefix to get the base Pokemon name
-                String pokemonName = fullName;
-                if (fullName.startsWith("Shiny ")) {
-                    pokemonName = fullName.substring(6); // Remove "Shiny " (6 characters)
-                }
-                
-                // Use the new shouldNotify method which checks both whitelist and blacklist
-                boolean isShiny = pokemonEntity.getPokemon().getShiny();
-                if (config.shouldNotify(pokemonName) || (isShiny && config.broadcastAllShinies)) {
-                    // Create spawn data with clean Pokemon name (without "Shiny" prefix)
-                    PokemonSpawnData spawnData = PokemonSpawnData.fromEntity(
-                        entity,
-                        pokemonName,  // Now this is just "Floragato" without "Shiny"
-                        isShiny,
-                        worldName
-                    );
-
-                    // Send notification through all services
-                    notificationManager.notifyAll(spawnData);
-                }
-            }
+            // Classify Pokemon that entered the world since the last tick
+            spawnDetector.tick(client);
         });
     }
     
@@ -184,7 +174,42 @@ public class PokeAlertClient implements ClientModInitializer {
      */
     public void reloadConfig() {
         config = ConfigManager.getConfig();
-        whitelist = config.getCombinedWhitelist();
-        LOGGER.info("Configuration reloaded! Now tracking {} whitelisted Pokemon", whitelist.length);
+        // Recompile the filter snapshot; detection only ever reads the compiled form
+        spawnFilter = SpawnFilter.compile(config);
+        LOGGER.info("Configuration reloaded! Now tracking {} whitelisted Pokemon", spawnFilter.getConfiguredNameCount());
+        prewarmRarities();
+    }
+    
+    /**
+     * Open pooled connections to the hosts alerts and rarity lookups will use
+     */
+    private void warmUpConnections() {
+        TelegramConfig telegram = ConfigManager.getTelegramConfig();
+        if (config.telegramEnabled && telegram.isValid()) {
+            HttpTransport.warmUp(telegram.getApiUrl());
+        }
+        if (config.rarityScrapingEnabled) {
+            HttpTransport.warmUp(config.rarityApiUrl != null && !config.rarityApiUrl.isBlank()
+                ? config.rarityApiUrl
+                : "https://bulbapedia.bulbagarden.net/");
+        }
+    }
+    
+    /**
+     * Pre-warm the rarity cache for every species the current whitelist could match
+     */
+    private void prewarmRarities() {
+        // Keep the configured names (not the normalized ones) since they are used as page titles
+        Set<String> blacklist = new HashSet<>();
+        for (String blacklisted : config.broadcastBlacklist) {
+            blacklist.add(SpawnFilter.normalizeName(blacklisted));
+        }
+        List<String> names = new ArrayList<>();
+        for (String name : config.getCombinedWhitelist()) {
+            if (!blacklist.contains(SpawnFilter.normalizeName(name))) {
+                names.add(name);
+            }
+        }
+        RarityScraper.prewarm(names);
     }
 }
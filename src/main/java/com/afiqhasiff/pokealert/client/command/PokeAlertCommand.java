@@ -3,8 +3,22 @@ package com.afiqhasiff.pokealert.client.command;
 import com.afiqhasiff.pokealert.client.PokeAlertClient;
 import com.afiqhasiff.pokealert.client.config.ConfigManager;
 import com.afiqhasiff.pokealert.client.config.PokeAlertConfig;
-import com.afiqhasiff.pokealert.client.util.PokemonLists;
+import com.afiqhasiff.pokealert.client.detection.CategoryRegistry;
+import com.afiqhasiff.pokealert.client.detection.DetectionCategory;
+import com.afiqhasiff.pokealert.client.detection.SeenEntitySet;
+import com.afiqhasiff.pokealert.client.detection.SpawnDetector;
+import com.afiqhasiff.pokealert.client.detection.SpawnPipeline;
+import com.afiqhasiff.pokealert.client.util.ChatPrefix;
+import com.afiqhasiff.pokealert.client.util.CircuitBreaker;
+import com.afiqhasiff.pokealert.client.util.RarityScraper;
+import com.afiqhasiff.pokealert.client.util.SpawnPoolRarity;
+import com.afiqhasiff.pokealert.client.util.SpeciesCatalog;
+import com.afiqhasiff.pokealert.client.util.TokenBucket;
 import com.afiqhasiff.pokealert.client.notification.EggTimerManager;
+import com.afiqhasiff.pokealert.client.notification.NotificationOutbox;
+import com.afiqhasiff.pokealert.client.notification.NotificationPriority;
+import com.afiqhasiff.pokealert.client.notification.ServiceDispatcher;
+import com.afiqhasiff.pokealert.client.notification.TelegramNotification;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.BoolArgumentType;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
@@ -49,6 +63,9 @@ public class PokeAlertCommand {
         for (String category : CATEGORIES) {
             builder.suggest(category);
         }
+        for (DetectionCategory category : CategoryRegistry.getCustomCategories()) {
+            builder.suggest(category.getId());
+        }
         return builder.buildFuture();
     };
     
@@ -56,6 +73,9 @@ public class PokeAlertCommand {
         for (String type : LIST_TYPES) {
             builder.suggest(type);
         }
+        for (DetectionCategory category : CategoryRegistry.getCustomCategories()) {
+            builder.suggest(category.getId());
+        }
         return builder.buildFuture();
     };
     
@@ -169,9 +189,7 @@ public class PokeAlertCommand {
         
         // Version header
         source.sendFeedback(
-            Text.literal("[").formatted(Formatting.GRAY)
-                .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                .append(Text.literal("] ").formatted(Formatting.GRAY))
+            ChatPrefix.prefixed()
                 .append(Text.literal("v1.2.0").formatted(Formatting.GOLD))
                 .append(Text.literal(" - Pokémon Detection Mod").formatted(Formatting.WHITE))
         );
@@ -363,9 +381,7 @@ public class PokeAlertCommand {
         
         // Header with PokéAlert color scheme
         source.sendFeedback(
-            Text.literal("[").formatted(Formatting.GRAY)
-                .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                .append(Text.literal("] ").formatted(Formatting.GRAY))
+            ChatPrefix.prefixed()
                 .append(Text.literal("Status").formatted(Formatting.WHITE))
         );
         
@@ -381,6 +397,9 @@ public class PokeAlertCommand {
         source.sendFeedback(formatCategoryStatus("Ultra Beasts", config.broadcastAllUltraBeasts));
         source.sendFeedback(formatCategoryStatus("Shinies", config.broadcastAllShinies));
         source.sendFeedback(formatCategoryStatus("Paradox", config.broadcastAllParadox));
+        for (DetectionCategory category : CategoryRegistry.getCustomCategories()) {
+            source.sendFeedback(formatCategoryStatus(category.getName(), config.isCategoryEnabled(category.getId())));
+        }
         
         source.sendFeedback(Text.literal("  Notifications:").formatted(Formatting.WHITE));
         source.sendFeedback(formatCategoryStatus("In-Game Text", config.inGameTextEnabled));
@@ -393,7 +412,73 @@ public class PokeAlertCommand {
             .append(Text.literal(config.broadcastBlacklist.length + " entries").formatted(Formatting.WHITE)));
         source.sendFeedback(Text.literal("  Excluded Worlds: ").formatted(Formatting.GRAY)
             .append(Text.literal(config.excludedWorlds.length + " entries").formatted(Formatting.WHITE)));
-        
+        source.sendFeedback(Text.literal("  Spawn Rules: ").formatted(Formatting.GRAY)
+            .append(Text.literal(PokeAlertClient.getInstance().spawnFilter.getRules().size() + "/" + config.spawnRules.length + " compiled").formatted(Formatting.WHITE)));
+
+        // Detection internals, useful to watch during long sessions
+        SpawnDetector detector = PokeAlertClient.getInstance().spawnDetector;
+        SeenEntitySet seen = detector.getSeenEntities();
+        source.sendFeedback(Text.literal("  Detection:").formatted(Formatting.WHITE));
+        source.sendFeedback(Text.literal("    • Seen Cache: ").formatted(Formatting.GRAY)
+            .append(Text.literal(seen.size() + "/" + seen.getCapacity()).formatted(Formatting.WHITE))
+            .append(Text.literal(" (" + seen.getEvictionCount() + " evicted, " + detector.getOwnedSkippedCount() + " owned skipped)").formatted(Formatting.DARK_GRAY)));
+        source.sendFeedback(Text.literal("    • Pending: ").formatted(Formatting.GRAY)
+            .append(Text.literal(String.valueOf(detector.getPendingCount())).formatted(Formatting.WHITE)));
+        source.sendFeedback(Text.literal("    • Rule Cost: ").formatted(Formatting.GRAY)
+            .append(Text.literal(String.format("%.1f µs/entity", detector.getAverageRuleNanos() / 1000.0)).formatted(Formatting.WHITE))
+            .append(Text.literal(" (" + detector.getRuleEvaluationCount() + " evaluated)").formatted(Formatting.DARK_GRAY)));
+        SpawnPipeline pipeline = PokeAlertClient.getInstance().spawnPipeline;
+        source.sendFeedback(Text.literal("    • Pipeline: ").formatted(Formatting.GRAY)
+            .append(Text.literal(pipeline.getMatchedCount() + "/" + pipeline.getCapturedCount() + " matched").formatted(Formatting.WHITE))
+            .append(Text.literal(" (" + pipeline.getQueuedCount() + " queued)").formatted(Formatting.DARK_GRAY)));
+        NotificationOutbox outbox = PokeAlertClient.getInstance().notificationManager.getOutbox();
+        source.sendFeedback(Text.literal("    • Outbox: ").formatted(Formatting.GRAY)
+            .append(Text.literal(outbox.getPendingCount() + " pending").formatted(Formatting.WHITE))
+            .append(Text.literal(" (" + outbox.getSyncCount() + " syncs)").formatted(Formatting.DARK_GRAY)));
+        for (ServiceDispatcher dispatcher : PokeAlertClient.getInstance().notificationManager.getDispatchers()) {
+            CircuitBreaker.State sinkState = dispatcher.getCircuitBreaker().getState();
+            source.sendFeedback(Text.literal("    • " + dispatcher.getService().getServiceName() + ": ").formatted(Formatting.GRAY)
+                .append(Text.literal(dispatcher.getSentCount() + " sent, " + dispatcher.getDroppedCount() + " dropped").formatted(Formatting.WHITE))
+                .append(Text.literal(" (" + dispatcher.getQueuedCount() + " queued, " + dispatcher.getRetryingCount() + " retrying, "
+                    + dispatcher.getFailedCount() + " failed) ").formatted(Formatting.DARK_GRAY))
+                .append(Text.literal(sinkState.name()).formatted(sinkState == CircuitBreaker.State.CLOSED ? Formatting.GREEN : Formatting.RED)));
+            for (NotificationPriority priority : NotificationPriority.values()) {
+                source.sendFeedback(Text.literal("        " + priority.name() + ": ").formatted(Formatting.GRAY)
+                    .append(Text.literal(dispatcher.getLaneSentCount(priority) + " sent, avg " + dispatcher.getLaneAverageWaitMillis(priority) + "ms").formatted(Formatting.WHITE))
+                    .append(Text.literal(" (max " + dispatcher.getLaneMaxWaitMillis(priority) + "ms)").formatted(Formatting.DARK_GRAY)));
+            }
+            if (dispatcher.getService() instanceof TelegramNotification telegram) {
+                TokenBucket limiter = telegram.getRateLimiter();
+                source.sendFeedback(Text.literal("        Rate Limit: ").formatted(Formatting.GRAY)
+                    .append(Text.literal(limiter.isPaused() ? "PAUSED" : "OK").formatted(limiter.isPaused() ? Formatting.RED : Formatting.GREEN))
+                    .append(Text.literal(" (waited " + limiter.getWaitCount() + "x)").formatted(Formatting.DARK_GRAY)));
+                source.sendFeedback(Text.literal("        Digests: ").formatted(Formatting.GRAY)
+                    .append(Text.literal(String.valueOf(telegram.getDigestsSentCount())).formatted(Formatting.WHITE))
+                    .append(Text.literal(" (" + telegram.getDigestedAlertCount() + " alerts, window "
+                        + telegram.getCoalesceWindowMillis() + "ms)").formatted(Formatting.DARK_GRAY)));
+                source.sendFeedback(Text.literal("        Time to Phone: ").formatted(Formatting.GRAY)
+                    .append(Text.literal("avg " + telegram.getAverageTimeToPhoneMillis() + "ms").formatted(Formatting.WHITE))
+                    .append(Text.literal(" (max " + telegram.getMaxTimeToPhoneMillis() + "ms, " + telegram.getEditCount() + " rarity edits, "
+                        + telegram.getEditsSkippedCount() + " skipped)").formatted(Formatting.DARK_GRAY)));
+            }
+        }
+        long hits = RarityScraper.getHitCount();
+        long lookups = hits + RarityScraper.getMissCount();
+        String hitRate = lookups == 0 ? "-" : (hits * 100 / lookups) + "%";
+        source.sendFeedback(Text.literal("    • Rarity Cache: ").formatted(Formatting.GRAY)
+            .append(Text.literal(RarityScraper.getStoredCount() + " stored, " + hitRate + " hits").formatted(Formatting.WHITE))
+            .append(Text.literal(" (" + hits + "/" + lookups + " lookups)").formatted(Formatting.DARK_GRAY)));
+        source.sendFeedback(Text.literal("    • Spawn Pool: ").formatted(Formatting.GRAY)
+            .append(Text.literal(SpawnPoolRarity.size() + " species").formatted(Formatting.WHITE)));
+        source.sendFeedback(Text.literal("    • Pre-warm: ").formatted(Formatting.GRAY)
+            .append(Text.literal(RarityScraper.getPrewarmDone() + "/" + RarityScraper.getPrewarmTotal()).formatted(Formatting.WHITE)));
+        CircuitBreaker breaker = RarityScraper.getCircuitBreaker();
+        CircuitBreaker.State state = breaker.getState();
+        source.sendFeedback(Text.literal("    • Bulbapedia: ").formatted(Formatting.GRAY)
+            .append(Text.literal(state.name()).formatted(state == CircuitBreaker.State.CLOSED ? Formatting.GREEN : Formatting.RED))
+            .append(Text.literal(" (opened " + breaker.getOpenCount() + "x, " + breaker.getRejectedCount() + " skipped, "
+                + RarityScraper.getFailedCount() + " failed species)").formatted(Formatting.DARK_GRAY)));
+
         return 1;
     }
     
@@ -408,79 +493,80 @@ public class PokeAlertCommand {
         FabricClientCommandSource source = context.getSource();
         PokeAlertConfig config = ConfigManager.getConfig();
         
-        String[] pokemonList = null;
+        List<String> pokemonList = null;
         String displayName = "";
         Formatting categoryColor = Formatting.WHITE;
         
         switch (type) {
             case "legendaries" -> {
-                pokemonList = PokemonLists.legendaries;
+                pokemonList = getCategoryNames(SpeciesCatalog.LEGENDARY);
                 displayName = "Legendary Pokémon";
                 categoryColor = Formatting.GOLD;
             }
             case "mythics" -> {
-                pokemonList = PokemonLists.mythics;
+                pokemonList = getCategoryNames(SpeciesCatalog.MYTHICAL);
                 displayName = "Mythical Pokémon";
                 categoryColor = Formatting.DARK_PURPLE;
             }
             case "starters" -> {
-                pokemonList = PokemonLists.starter;
+                pokemonList = getCategoryNames(SpeciesCatalog.STARTER);
                 displayName = "Starter Pokémon";
                 categoryColor = Formatting.GREEN;
             }
             case "babies" -> {
-                pokemonList = PokemonLists.babies;
+                pokemonList = getCategoryNames(SpeciesCatalog.BABY);
                 displayName = "Baby Pokémon";
                 categoryColor = Formatting.AQUA;
             }
             case "ultrabeasts" -> {
-                pokemonList = PokemonLists.ultra_beasts;
+                pokemonList = getCategoryNames(SpeciesCatalog.ULTRA_BEAST);
                 displayName = "Ultra Beasts";
                 categoryColor = Formatting.DARK_AQUA;
             }
             case "paradox" -> {
-                pokemonList = PokemonLists.paradox_mons;
+                pokemonList = getCategoryNames(SpeciesCatalog.PARADOX);
                 displayName = "Paradox Pokémon";
                 categoryColor = Formatting.DARK_RED;
             }
             case "shinies" -> {
                 source.sendFeedback(
-                    Text.literal("[").formatted(Formatting.GRAY)
-                        .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                        .append(Text.literal("] ").formatted(Formatting.GRAY))
+                    ChatPrefix.prefixed()
                         .append(Text.literal("Shiny Pokémon includes all Pokémon when shiny").formatted(Formatting.LIGHT_PURPLE))
                 );
                 return 1;
             }
             case "whitelist" -> {
-                pokemonList = config.broadcastWhitelist;
+                pokemonList = Arrays.asList(config.broadcastWhitelist);
                 displayName = "Custom Whitelist";
                 categoryColor = Formatting.GREEN;
             }
             case "blacklist" -> {
-                pokemonList = config.broadcastBlacklist;
+                pokemonList = Arrays.asList(config.broadcastBlacklist);
                 displayName = "Custom Blacklist";
                 categoryColor = Formatting.RED;
             }
             default -> {
-                source.sendError(Text.literal("Unknown list type: " + type));
-                return 0;
+                DetectionCategory category = CategoryRegistry.get(type);
+                if (category == null || category.isBuiltIn()) {
+                    source.sendError(Text.literal("Unknown list type: " + type));
+                    return 0;
+                }
+                pokemonList = category.getSpecies();
+                displayName = category.getName();
             }
         }
         
         // Header
         source.sendFeedback(
-            Text.literal("[").formatted(Formatting.GRAY)
-                .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                .append(Text.literal("] ").formatted(Formatting.GRAY))
+            ChatPrefix.prefixed()
                 .append(Text.literal(displayName).formatted(categoryColor))
                 .append(Text.literal(" (").formatted(Formatting.GRAY))
-                .append(Text.literal(String.valueOf(pokemonList.length)).formatted(Formatting.WHITE))
+                .append(Text.literal(String.valueOf(pokemonList.size())).formatted(Formatting.WHITE))
                 .append(Text.literal(")").formatted(Formatting.GRAY))
         );
         
         // List Pokemon
-        if (pokemonList.length == 0) {
+        if (pokemonList.isEmpty()) {
             source.sendFeedback(Text.literal("  Empty list").formatted(Formatting.GRAY));
         } else {
             // Show all Pokemon regardless of count
@@ -511,37 +597,28 @@ public class PokeAlertCommand {
         return formatted.toString();
     }
     
-    private static String getPredefinedCategory(String pokemon) {
-        // Check each predefined category
-        for (String p : PokemonLists.legendaries) {
-            if (p.equalsIgnoreCase(pokemon)) {
-                return "Legendaries";
-            }
-        }
-        for (String p : PokemonLists.mythics) {
-            if (p.equalsIgnoreCase(pokemon)) {
-                return "Mythics";
-            }
-        }
-        for (String p : PokemonLists.starter) {
-            if (p.equalsIgnoreCase(pokemon)) {
-                return "Starters";
-            }
-        }
-        for (String p : PokemonLists.babies) {
-            if (p.equalsIgnoreCase(pokemon)) {
-                return "Babies";
-            }
+    private static List<String> getCategoryNames(int category) {
+        List<String> names = new ArrayList<>();
+        for (SpeciesCatalog.Entry species : SpeciesCatalog.getSpecies(category)) {
+            names.add(species.getDisplayName());
         }
-        for (String p : PokemonLists.ultra_beasts) {
-            if (p.equalsIgnoreCase(pokemon)) {
-                return "Ultra Beasts";
-            }
-        }
-        for (String p : PokemonLists.paradox_mons) {
-            if (p.equalsIgnoreCase(pokemon)) {
-                return "Paradox";
-            }
+        return names;
+    }
+    
+    private static String getPredefinedCategory(String pokemon) {
+        int categories = SpeciesCatalog.getCategories(pokemon);
+        if ((categories & SpeciesCatalog.LEGENDARY) != 0) {
+            return "Legendaries";
+        } else if ((categories & SpeciesCatalog.MYTHICAL) != 0) {
+            return "Mythics";
+        } else if ((categories & SpeciesCatalog.STARTER) != 0) {
+            return "Starters";
+        } else if ((categories & SpeciesCatalog.BABY) != 0) {
+            return "Babies";
+        } else if ((categories & SpeciesCatalog.ULTRA_BEAST) != 0) {
+            return "Ultra Beasts";
+        } else if ((categories & SpeciesCatalog.PARADOX) != 0) {
+            return "Paradox";
         }
         return null;
     }
@@ -553,9 +630,7 @@ public class PokeAlertCommand {
         PokeAlertClient.getInstance().reloadConfig();
         
         context.getSource().sendFeedback(
-            Text.literal("[").formatted(Formatting.GRAY)
-                .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                .append(Text.literal("] ").formatted(Formatting.GRAY))
+            ChatPrefix.prefixed()
                 .append(Text.literal("Mod has been ").formatted(Formatting.WHITE))
                 .append(Text.literal(enabled ? "ENABLED" : "DISABLED")
                     .formatted(enabled ? Formatting.GREEN : Formatting.RED))
@@ -578,8 +653,11 @@ public class PokeAlertCommand {
             case "shinies" -> config.broadcastAllShinies = enabled;
             case "paradox" -> config.broadcastAllParadox = enabled;
             default -> {
-                context.getSource().sendError(Text.literal("Unknown category: " + category));
-                return 0;
+                if (CategoryRegistry.get(category) == null) {
+                    context.getSource().sendError(Text.literal("Unknown category: " + category));
+                    return 0;
+                }
+                config.setCategoryEnabled(category, enabled);
             }
         }
         
@@ -587,9 +665,7 @@ public class PokeAlertCommand {
         PokeAlertClient.getInstance().reloadConfig();
         
         context.getSource().sendFeedback(
-            Text.literal("[").formatted(Formatting.GRAY)
-                .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                .append(Text.literal("] ").formatted(Formatting.GRAY))
+            ChatPrefix.prefixed()
                 .append(Text.literal(Character.toUpperCase(category.charAt(0)) + category.substring(1)).formatted(Formatting.WHITE))
                 .append(Text.literal(" has been ").formatted(Formatting.GRAY))
                 .append(Text.literal(enabled ? "ENABLED" : "DISABLED")
@@ -612,9 +688,7 @@ public class PokeAlertCommand {
         PokeAlertClient.getInstance().reloadConfig();
         
         context.getSource().sendFeedback(
-            Text.literal("[").formatted(Formatting.GRAY)
-                .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                .append(Text.literal("] ").formatted(Formatting.GRAY))
+            ChatPrefix.prefixed()
                 .append(Text.literal(type.substring(0, 1).toUpperCase() + type.substring(1)).formatted(Formatting.WHITE))
                 .append(Text.literal(" notifications ").formatted(Formatting.GRAY))
                 .append(Text.literal(enabled ? "ENABLED" : "DISABLED")
@@ -641,9 +715,7 @@ public class PokeAlertCommand {
         if (blacklist.contains(pokemon)) {
             // Prompt user about conflict
             source.sendFeedback(
-                Text.literal("[").formatted(Formatting.GRAY)
-                    .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                    .append(Text.literal("] ").formatted(Formatting.GRAY))
+                ChatPrefix.prefixed()
                     .append(Text.literal("Warning: ").formatted(Formatting.YELLOW))
                     .append(Text.literal(pokemon).formatted(Formatting.WHITE))
                     .append(Text.literal(" is currently in the blacklist").formatted(Formatting.GRAY))
@@ -677,9 +749,7 @@ public class PokeAlertCommand {
                 lastRedundantWhitelistTime = 0;
                 
                 source.sendFeedback(
-                    Text.literal("[").formatted(Formatting.GRAY)
-                        .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                        .append(Text.literal("] ").formatted(Formatting.GRAY))
+                    ChatPrefix.prefixed()
                         .append(Text.literal("Confirmed: Adding ").formatted(Formatting.YELLOW))
                         .append(Text.literal(pokemon).formatted(Formatting.WHITE))
                         .append(Text.literal(" to whitelist despite being in ").formatted(Formatting.GRAY))
@@ -692,9 +762,7 @@ public class PokeAlertCommand {
                 lastRedundantWhitelistTime = currentTime;
                 
                 source.sendFeedback(
-                    Text.literal("[").formatted(Formatting.GRAY)
-                        .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                        .append(Text.literal("] ").formatted(Formatting.GRAY))
+                    ChatPrefix.prefixed()
                         .append(Text.literal("Warning: ").formatted(Formatting.YELLOW))
                         .append(Text.literal(pokemon).formatted(Formatting.WHITE))
                         .append(Text.literal(" is already in ").formatted(Formatting.GRAY))
@@ -794,9 +862,7 @@ public class PokeAlertCommand {
         if (whitelist.contains(pokemon)) {
             // Prompt user about conflict
             source.sendFeedback(
-                Text.literal("[").formatted(Formatting.GRAY)
-                    .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                    .append(Text.literal("] ").formatted(Formatting.GRAY))
+                ChatPrefix.prefixed()
                     .append(Text.literal("Warning: ").formatted(Formatting.YELLOW))
                     .append(Text.literal(pokemon).formatted(Formatting.WHITE))
                     .append(Text.literal(" is currently in the whitelist").formatted(Formatting.GRAY))
@@ -830,9 +896,7 @@ public class PokeAlertCommand {
                 lastRedundantBlacklistTime = 0;
                 
                 source.sendFeedback(
-                    Text.literal("[").formatted(Formatting.GRAY)
-                        .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                        .append(Text.literal("] ").formatted(Formatting.GRAY))
+                    ChatPrefix.prefixed()
                         .append(Text.literal("Confirmed: Adding ").formatted(Formatting.YELLOW))
                         .append(Text.literal(pokemon).formatted(Formatting.WHITE))
                         .append(Text.literal(" to blacklist despite being in ").formatted(Formatting.GRAY))
@@ -852,9 +916,7 @@ public class PokeAlertCommand {
                 lastRedundantBlacklistTime = currentTime;
                 
                 source.sendFeedback(
-                    Text.literal("[").formatted(Formatting.GRAY)
-                        .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                        .append(Text.literal("] ").formatted(Formatting.GRAY))
+                    ChatPrefix.prefixed()
                         .append(Text.literal("Warning: ").formatted(Formatting.YELLOW))
                         .append(Text.literal(pokemon).formatted(Formatting.WHITE))
                         .append(Text.literal(" is in ").formatted(Formatting.GRAY))
@@ -1013,9 +1075,7 @@ public class PokeAlertCommand {
         if (timerManager.isTimerRunning()) {
             int remaining = timerManager.getRemainingMinutes();
             source.sendFeedback(
-                Text.literal("[").formatted(Formatting.GRAY)
-                    .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                    .append(Text.literal("] ").formatted(Formatting.GRAY))
+                ChatPrefix.prefixed()
                     .append(Text.literal("⏰ ").formatted(Formatting.YELLOW))
                     .append(Text.literal("Egg timer already running: ").formatted(Formatting.WHITE))
                     .append(Text.literal(remaining + " minutes remaining").formatted(Formatting.AQUA))
@@ -1034,9 +1094,7 @@ public class PokeAlertCommand {
         if (timerManager.isTimerRunning()) {
             int remaining = timerManager.getRemainingMinutes();
             source.sendFeedback(
-                Text.literal("[").formatted(Formatting.GRAY)
-                    .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                    .append(Text.literal("] ").formatted(Formatting.GRAY))
+                ChatPrefix.prefixed()
                     .append(Text.literal("⏰ ").formatted(Formatting.YELLOW))
                     .append(Text.literal("Egg timer already running: ").formatted(Formatting.WHITE))
                     .append(Text.literal(remaining + " minutes remaining").formatted(Formatting.AQUA))
@@ -1054,17 +1112,13 @@ public class PokeAlertCommand {
         
         if (timerManager.stopTimer()) {
             source.sendFeedback(
-                Text.literal("[").formatted(Formatting.GRAY)
-                    .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                    .append(Text.literal("] ").formatted(Formatting.GRAY))
+                ChatPrefix.prefixed()
                     .append(Text.literal("⏰ ").formatted(Formatting.YELLOW))
                     .append(Text.literal("Egg timer stopped").formatted(Formatting.RED))
             );
         } else {
             source.sendFeedback(
-                Text.literal("[").formatted(Formatting.GRAY)
-                    .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                    .append(Text.literal("] ").formatted(Formatting.GRAY))
+                ChatPrefix.prefixed()
                     .append(Text.literal("⏰ ").formatted(Formatting.YELLOW))
                     .append(Text.literal("No egg timer is running").formatted(Formatting.GRAY))
             );
@@ -1080,18 +1134,14 @@ public class PokeAlertCommand {
         if (timerManager.isTimerRunning()) {
             int remaining = timerManager.getRemainingMinutes();
             source.sendFeedback(
-                Text.literal("[").formatted(Formatting.GRAY)
-                    .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                    .append(Text.literal("] ").formatted(Formatting.GRAY))
+                ChatPrefix.prefixed()
                     .append(Text.literal("⏰ ").formatted(Formatting.YELLOW))
                     .append(Text.literal("Egg timer: ").formatted(Formatting.WHITE))
                     .append(Text.literal(remaining + " minutes remaining").formatted(Formatting.AQUA))
             );
         } else {
             source.sendFeedback(
-                Text.literal("[").formatted(Formatting.GRAY)
-                    .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                    .append(Text.literal("] ").formatted(Formatting.GRAY))
+                ChatPrefix.prefixed()
                     .append(Text.literal("⏰ ").formatted(Formatting.YELLOW))
                     .append(Text.literal("No egg timer is running").formatted(Formatting.GRAY))
             );
@@ -1109,9 +1159,7 @@ public class PokeAlertCommand {
         ConfigManager.updateConfig(config);
         
         source.sendFeedback(
-            Text.literal("[").formatted(Formatting.GRAY)
-                .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                .append(Text.literal("] ").formatted(Formatting.GRAY))
+            ChatPrefix.prefixed()
                 .append(Text.literal("⏰ ").formatted(Formatting.YELLOW))
                 .append(Text.literal("Default egg timer duration set to ").formatted(Formatting.WHITE))
                 .append(Text.literal(minutes + " minutes").formatted(Formatting.AQUA))
@@ -207,6 +207,13 @@ public class ConfigManager {
         }
     }
 
+    /**
+     * Get the config directory, for other files PokéAlert keeps next to its settings
+     */
+    public static File getConfigDir() {
+        return CONFIG_DIR;
+    }
+
     /**
      * Get current configuration
      */
@@ -4,9 +4,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import com.afiqhasiff.pokealert.client.util.PokemonLists;
+import com.afiqhasiff.pokealert.client.detection.CategoryRegistry;
+import com.afiqhasiff.pokealert.client.detection.DetectionCategory;
 
 public class PokeAlertConfig {
+    public static final String DEFAULT_IN_GAME_ALERT_TEMPLATE = "{article} {rarity} {pokemon} spawned near you!";
+
     // Master toggle
     public boolean modEnabled = true;
     
@@ -18,15 +21,22 @@ public class PokeAlertConfig {
     public boolean broadcastAllUltraBeasts = false;
     public boolean broadcastAllShinies = true;
     public boolean broadcastAllParadox = false;
+    // Enabled custom categories (ids of JSON category files)
+    public String[] enabledCategories = new String[0];
     
     // Custom whitelist and blacklist
     public String[] broadcastWhitelist = {"Mew", "Mewtwo"};
     public String[] broadcastBlacklist = new String[0];
+
+    // Advanced spawn rules, e.g. "aspect=alolan" or "level >= 50 dimension=the_nether" (see SpawnRules)
+    public String[] spawnRules = new String[0];
     
     // Notification toggles
     public boolean inGameTextEnabled = true;
     public boolean inGameSoundEnabled = true;
     public float inGameSoundVolume = 1.0f; // 0.0 to 1.0 (0% to 100%)
+    // Chat alert after the [PokéAlert] prefix; placeholders: {article} {rarity} {pokemon} {x} {y} {z} {world}
+    public String inGameAlertTemplate = DEFAULT_IN_GAME_ALERT_TEMPLATE;
     public boolean telegramEnabled = true;
     
     // World exclusion list (users can input "spawn" or "minecraft:spawn")
@@ -36,67 +46,79 @@ public class PokeAlertConfig {
     public int eggTimerDuration = 30; // Default 30 minutes
     public boolean eggTimerTextNotification = true;
     public boolean eggTimerTelegramNotification = true;
+    
+    // Look up rarities on Bulbapedia for species not covered by the spawn pool or bundled data
+    public boolean rarityScrapingEnabled = true;
+    // MediaWiki API used for rarity lookups; leave empty to scrape Bulbapedia pages instead
+    public String rarityApiUrl = "https://bulbapedia.bulbagarden.net/w/api.php";
+
+    /**
+     * Check if a detection category is enabled
+     * @param id The category id, e.g. "legendaries" or the name of a custom category file
+     */
+    public boolean isCategoryEnabled(String id) {
+        return switch (id) {
+            case "legendaries" -> this.broadcastAllLegendaries;
+            case "mythics" -> this.broadcastAllMythics;
+            case "starters" -> this.broadcastAllStarter;
+            case "babies" -> this.broadcastAllBabies;
+            case "ultrabeasts" -> this.broadcastAllUltraBeasts;
+            case "paradox" -> this.broadcastAllParadox;
+            default -> {
+                for (String enabled : this.enabledCategories) {
+                    if (enabled.equalsIgnoreCase(id)) {
+                        yield true;
+                    }
+                }
+                yield false;
+            }
+        };
+    }
+
+    /**
+     * Enable or disable a detection category
+     * @param id The category id, e.g. "legendaries" or the name of a custom category file
+     */
+    public void setCategoryEnabled(String id, boolean enabled) {
+        switch (id) {
+            case "legendaries" -> this.broadcastAllLegendaries = enabled;
+            case "mythics" -> this.broadcastAllMythics = enabled;
+            case "starters" -> this.broadcastAllStarter = enabled;
+            case "babies" -> this.broadcastAllBabies = enabled;
+            case "ultrabeasts" -> this.broadcastAllUltraBeasts = enabled;
+            case "paradox" -> this.broadcastAllParadox = enabled;
+            default -> {
+                List<String> ids = new ArrayList<>();
+                for (String existing : this.enabledCategories) {
+                    if (!existing.equalsIgnoreCase(id)) {
+                        ids.add(existing);
+                    }
+                }
+                if (enabled) {
+                    ids.add(id);
+                }
+                this.enabledCategories = ids.toArray(new String[0]);
+            }
+        }
+    }
 
     public String[] getCombinedWhitelist(){
         List<String> combinedList = new ArrayList<String>();
 
-        if (this.broadcastAllLegendaries) {
-            combinedList.addAll(new ArrayList<String>(Arrays.asList(PokemonLists.legendaries)));
-        }
-        if (this.broadcastAllMythics) {
-            combinedList.addAll(new ArrayList<String>(Arrays.asList(PokemonLists.mythics)));
-        }
-        if (this.broadcastAllStarter) {
-            combinedList.addAll(new ArrayList<String>(Arrays.asList(PokemonLists.starter)));
-        }
-        if (this.broadcastAllBabies) {
-            combinedList.addAll(new ArrayList<String>(Arrays.asList(PokemonLists.babies)));
-        }
-        if (this.broadcastAllUltraBeasts) {
-            combinedList.addAll(new ArrayList<String>(Arrays.asList(PokemonLists.ultra_beasts)));
-        }
-        if (this.broadcastAllParadox) {
-            combinedList.addAll(new ArrayList<String>(Arrays.asList(PokemonLists.paradox_mons)));
+        for (DetectionCategory category : CategoryRegistry.getCategories()) {
+            if (isCategoryEnabled(category.getId())) {
+                combinedList.addAll(category.getSpecies());
+            }
         }
 
-        combinedList.addAll(new ArrayList<String>(Arrays.asList(this.broadcastWhitelist)));
+        combinedList.addAll(Arrays.asList(this.broadcastWhitelist));
 
         // turn everything lowercase just in case
         for (int i = 0; i < combinedList.size(); i++) {
             combinedList.set(i, combinedList.get(i).toLowerCase());
         }
 
-        return combinedList.toArray(new String[combinedList.size()]);
-    }
-    
-    /**
-     * Check if a Pokemon should trigger notification
-     * @param pokemonName The name of the Pokemon to check
-     * @return true if Pokemon should trigger notification
-     */
-    public boolean shouldNotify(String pokemonName) {
-        if (!modEnabled) {
-            return false;
-        }
-        
-        String lowerName = pokemonName.toLowerCase();
-        
-        // Check blacklist first
-        for (String blacklisted : broadcastBlacklist) {
-            if (blacklisted.toLowerCase().equals(lowerName)) {
-                return false;
-            }
-        }
-        
-        // Check whitelist
-        String[] whitelist = getCombinedWhitelist();
-        for (String whitelisted : whitelist) {
-            if (whitelisted.equals(lowerName)) {
-                return true;
-            }
-        }
-        
-        return false;
+        return combinedList.toArray(new String[0]);
     }
     
     /**
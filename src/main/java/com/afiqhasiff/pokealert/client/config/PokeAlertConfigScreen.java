@@ -1,6 +1,8 @@
 package com.afiqhasiff.pokealert.client.config;
 
 import com.afiqhasiff.pokealert.client.PokeAlertClient;
+import com.afiqhasiff.pokealert.client.detection.CategoryRegistry;
+import com.afiqhasiff.pokealert.client.detection.DetectionCategory;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
@@ -96,13 +98,18 @@ public class PokeAlertConfigScreen extends Screen {
         copy.broadcastAllUltraBeasts = original.broadcastAllUltraBeasts;
         copy.broadcastAllShinies = original.broadcastAllShinies;
         copy.broadcastAllParadox = original.broadcastAllParadox;
+        copy.enabledCategories = Arrays.copyOf(original.enabledCategories, original.enabledCategories.length);
+        copy.spawnRules = Arrays.copyOf(original.spawnRules, original.spawnRules.length);
         copy.broadcastWhitelist = Arrays.copyOf(original.broadcastWhitelist, original.broadcastWhitelist.length);
         copy.broadcastBlacklist = Arrays.copyOf(original.broadcastBlacklist, original.broadcastBlacklist.length);
         copy.excludedWorlds = Arrays.copyOf(original.excludedWorlds, original.excludedWorlds.length);
         copy.inGameTextEnabled = original.inGameTextEnabled;
         copy.inGameSoundEnabled = original.inGameSoundEnabled;
         copy.inGameSoundVolume = original.inGameSoundVolume;
+        copy.inGameAlertTemplate = original.inGameAlertTemplate;
         copy.telegramEnabled = original.telegramEnabled;
+        copy.rarityScrapingEnabled = original.rarityScrapingEnabled;
+        copy.rarityApiUrl = original.rarityApiUrl;
         
         return copy;
     }
@@ -212,7 +219,23 @@ public class PokeAlertConfigScreen extends Screen {
                 config.broadcastAllParadox = !config.broadcastAllParadox;
                 updateToggleButton(paradoxButton, config.broadcastAllParadox);
             });
-        currentY += ROW_HEIGHT + SECTION_SPACING;
+        currentY += ROW_HEIGHT;
+
+        // Custom categories from JSON files
+        for (DetectionCategory category : CategoryRegistry.getCustomCategories()) {
+            ButtonWidget[] categoryButton = new ButtonWidget[1];
+            categoryButton[0] = addNotificationRow(currentY,
+                category.getName(),
+                category.getDescription(),
+                config.isCategoryEnabled(category.getId()),
+                button -> {
+                    boolean enabled = !config.isCategoryEnabled(category.getId());
+                    config.setCategoryEnabled(category.getId(), enabled);
+                    updateToggleButton(categoryButton[0], enabled);
+                });
+            currentY += ROW_HEIGHT;
+        }
+        currentY += SECTION_SPACING;
 
         // ========== Notification Settings Section ==========
         // In-Game Text
@@ -629,7 +652,12 @@ public class PokeAlertConfigScreen extends Screen {
         drawCategoryWithDescription(context, "All Shiny Pokémon", "Any Pokémon in their shiny variant", currentY);
         currentY += ROW_HEIGHT;
         drawCategoryWithDescription(context, "Paradox Pokémon", "Ancient and Future Paradox forms", currentY);
-        currentY += ROW_HEIGHT + SECTION_SPACING;
+        currentY += ROW_HEIGHT;
+        for (DetectionCategory category : CategoryRegistry.getCustomCategories()) {
+            drawCategoryWithDescription(context, category.getName(), category.getDescription(), currentY);
+            currentY += ROW_HEIGHT;
+        }
+        currentY += SECTION_SPACING;
         
         // Draw separator line
         drawHorizontalSeparator(context, currentY - 10);
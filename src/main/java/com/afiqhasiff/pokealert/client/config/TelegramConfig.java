@@ -6,6 +6,20 @@ package com.afiqhasiff.pokealert.client.config;
  * File location: config/pokealert-telegram.json
  */
 public class TelegramConfig {
+    // Message templates (Telegram HTML); placeholder values are HTML-escaped
+    public static final String DEFAULT_ALERT_TEMPLATE = "<b>🚨 PokéAlert</b>\n"
+        + "• Pokémon: <a href=\"{url}\">{pokemon}</a>\n"
+        + "• Rarity: <i>{rarity}</i>\n"
+        + "• Detected: <code>{time}</code>\n"
+        + "• Position: <code>X:{x} Y:{y} Z:{z}</code>\n"
+        + "• Location: <i>{world}</i>";
+    public static final String DEFAULT_DIGEST_HEADER_TEMPLATE = "<b>🚨 PokéAlert</b> — {count} spawns";
+    public static final String DEFAULT_DIGEST_LINE_TEMPLATE = "• <a href=\"{url}\">{pokemon}</a> <i>{rarity}</i> <code>X:{x} Y:{y} Z:{z}</code>";
+    public static final String DEFAULT_DIGEST_FOOTER_TEMPLATE = "• Detected: <code>{time}</code> in <i>{world}</i>";
+    public static final String DEFAULT_EGG_TIMER_TEMPLATE = "<b>🎉 Egg Timer Complete!</b>\n"
+        + "• Duration: <i>{duration} minutes</i>\n"
+        + "• Started: <code>{started}</code>";
+
     private boolean enabled = false;
     private String botToken = "";
     private String chatId = "";
@@ -14,6 +28,17 @@ public class TelegramConfig {
     // Rate limiting settings
     private int maxNotificationsPerMinute = 10;
     private int cooldownSeconds = 30;
+    // Alerts arriving within this many milliseconds of the last one are sent as one digest (0 = off)
+    private int coalesceWindowMillis = 3000;
+
+    // Alert placeholders: {pokemon} {url} {rarity} {time} {x} {y} {z} {world}
+    private String alertTemplate = DEFAULT_ALERT_TEMPLATE;
+    // Digest: header ({count}), one line per alert and a footer for the first alert (alert placeholders)
+    private String digestHeaderTemplate = DEFAULT_DIGEST_HEADER_TEMPLATE;
+    private String digestLineTemplate = DEFAULT_DIGEST_LINE_TEMPLATE;
+    private String digestFooterTemplate = DEFAULT_DIGEST_FOOTER_TEMPLATE;
+    // Egg timer placeholders: {duration} {started}
+    private String eggTimerTemplate = DEFAULT_EGG_TIMER_TEMPLATE;
 
     // Getters and setters
     public boolean isEnabled() {
@@ -64,6 +89,54 @@ public class TelegramConfig {
         this.cooldownSeconds = cooldownSeconds;
     }
 
+    public int getCoalesceWindowMillis() {
+        return coalesceWindowMillis;
+    }
+
+    public void setCoalesceWindowMillis(int coalesceWindowMillis) {
+        this.coalesceWindowMillis = coalesceWindowMillis;
+    }
+
+    public String getAlertTemplate() {
+        return alertTemplate != null ? alertTemplate : DEFAULT_ALERT_TEMPLATE;
+    }
+
+    public void setAlertTemplate(String alertTemplate) {
+        this.alertTemplate = alertTemplate;
+    }
+
+    public String getDigestHeaderTemplate() {
+        return digestHeaderTemplate != null ? digestHeaderTemplate : DEFAULT_DIGEST_HEADER_TEMPLATE;
+    }
+
+    public void setDigestHeaderTemplate(String digestHeaderTemplate) {
+        this.digestHeaderTemplate = digestHeaderTemplate;
+    }
+
+    public String getDigestLineTemplate() {
+        return digestLineTemplate != null ? digestLineTemplate : DEFAULT_DIGEST_LINE_TEMPLATE;
+    }
+
+    public void setDigestLineTemplate(String digestLineTemplate) {
+        this.digestLineTemplate = digestLineTemplate;
+    }
+
+    public String getDigestFooterTemplate() {
+        return digestFooterTemplate != null ? digestFooterTemplate : DEFAULT_DIGEST_FOOTER_TEMPLATE;
+    }
+
+    public void setDigestFooterTemplate(String digestFooterTemplate) {
+        this.digestFooterTemplate = digestFooterTemplate;
+    }
+
+    public String getEggTimerTemplate() {
+        return eggTimerTemplate != null ? eggTimerTemplate : DEFAULT_EGG_TIMER_TEMPLATE;
+    }
+
+    public void setEggTimerTemplate(String eggTimerTemplate) {
+        this.eggTimerTemplate = eggTimerTemplate;
+    }
+
     /**
      * Check if the configuration is valid for sending notifications
      */
@@ -79,5 +152,12 @@ public class TelegramConfig {
     public String getSendMessageUrl() {
         return String.format("%s/bot%s/sendMessage", apiUrl, botToken);
     }
+
+    /**
+     * Get the full API URL for editing sent messages
+     */
+    public String getEditMessageTextUrl() {
+        return String.format("%s/bot%s/editMessageText", apiUrl, botToken);
+    }
 }
 
@@ -0,0 +1,205 @@
+package com.afiqhasiff.pokealert.client.detection;
+
+import com.afiqhasiff.pokealert.client.PokeAlertClient;
+import com.afiqhasiff.pokealert.client.config.ConfigManager;
+import com.afiqhasiff.pokealert.client.util.SpeciesCatalog;
+import com.google.gson.Gson;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * All detection categories: the built-in ones backed by {@link SpeciesCatalog},
+ * plus user-defined ones loaded from JSON files in config/pokealert-categories/
+ * and from resource packs (assets/&lt;namespace&gt;/pokealert_categories/).
+ * A category file looks like:
+ * <pre>
+ * {
+ *   "name": "Pseudo-Legendaries",
+ *   "description": "Dragonite, Tyranitar and friends",
+ *   "species": ["dratini", "dragonair", "dragonite", "larvitar", ...]
+ * }
+ * </pre>
+ * and is identified by its file name. Enabled categories are merged into the
+ * compiled {@link SpawnFilter}, so any number of them still costs a single bit
+ * test per Pokemon.
+ */
+public final class CategoryRegistry {
+    private static final Gson GSON = new Gson();
+    private static final File CATEGORY_DIR = new File(ConfigManager.getConfigDir(), "pokealert-categories");
+    private static final String RESOURCE_DIR = "pokealert_categories";
+
+    // JSON shape of a category file
+    private static final class CategoryFile {
+        String name;
+        String description;
+        List<String> species;
+    }
+
+    private static volatile Map<String, DetectionCategory> builtInCategories = Map.of();
+    private static volatile Map<String, DetectionCategory> configCategories = Map.of();
+    private static volatile Map<String, DetectionCategory> resourceCategories = Map.of();
+    private static volatile Map<String, DetectionCategory> categories = Map.of();
+
+    private CategoryRegistry() {
+    }
+
+    /**
+     * Register the built-in categories, load the config directory and hook resource reloads
+     */
+    public static void initialize() {
+        Map<String, DetectionCategory> builtIn = new LinkedHashMap<>();
+        addBuiltIn(builtIn, "legendaries", "Legendary Pokémon", "Rare and powerful legendary spawns", SpeciesCatalog.LEGENDARY);
+        addBuiltIn(builtIn, "mythics", "Mythical Pokémon", "Ultra-rare mythical encounters", SpeciesCatalog.MYTHICAL);
+        addBuiltIn(builtIn, "starters", "Starter Pokémon", "All starter Pokémon and their evolutions", SpeciesCatalog.STARTER);
+        addBuiltIn(builtIn, "babies", "Baby Pokémon", "Cute baby Pokémon like Pichu and Togepi", SpeciesCatalog.BABY);
+        addBuiltIn(builtIn, "ultrabeasts", "Ultra Beasts", "Mysterious Pokémon from Ultra Space", SpeciesCatalog.ULTRA_BEAST);
+        addBuiltIn(builtIn, "paradox", "Paradox Pokémon", "Ancient and Future Paradox forms", SpeciesCatalog.PARADOX);
+        builtInCategories = builtIn;
+
+        reloadConfigCategories();
+
+        ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+            @Override
+            public Identifier getFabricId() {
+                return Identifier.of(PokeAlertClient.MOD_ID, "categories");
+            }
+
+            @Override
+            public void reload(ResourceManager manager) {
+                loadResourceCategories(manager);
+            }
+        });
+    }
+
+    /**
+     * Re-read category files from the config directory
+     */
+    public static void reloadConfigCategories() {
+        configCategories = readConfigCategories();
+        rebuild();
+    }
+
+    private static Map<String, DetectionCategory> readConfigCategories() {
+        CATEGORY_DIR.mkdirs();
+        Map<String, DetectionCategory> loaded = new LinkedHashMap<>();
+        File[] files = CATEGORY_DIR.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files != null) {
+            for (File file : files) {
+                try (FileReader reader = new FileReader(file)) {
+                    parse(loaded, idFromFileName(file.getName()), reader);
+                } catch (Exception e) {
+                    PokeAlertClient.LOGGER.error("Failed to read category file {}: {}", file.getName(), e.getMessage());
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Resource reload (startup, F3+T): pick up resource pack categories and
+     * re-read the config directory along with them
+     */
+    private static void loadResourceCategories(ResourceManager manager) {
+        Map<String, DetectionCategory> loaded = new LinkedHashMap<>();
+        Map<Identifier, Resource> resources = manager.findResources(RESOURCE_DIR, id -> id.getPath().endsWith(".json"));
+        for (Map.Entry<Identifier, Resource> entry : resources.entrySet()) {
+            String path = entry.getKey().getPath();
+            try (Reader reader = entry.getValue().getReader()) {
+                parse(loaded, idFromFileName(path.substring(path.lastIndexOf('/') + 1)), reader);
+            } catch (Exception e) {
+                PokeAlertClient.LOGGER.error("Failed to read category {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        resourceCategories = loaded;
+        configCategories = readConfigCategories();
+        rebuild();
+
+        // Newly available categories may already be enabled in the config. Only the filter
+        // depends on them; a resource reload shouldn't re-read the config or pre-warm rarities
+        PokeAlertClient mod = PokeAlertClient.getInstance();
+        if (mod != null && mod.config != null) {
+            mod.spawnFilter = SpawnFilter.compile(mod.config);
+        }
+    }
+
+    private static void parse(Map<String, DetectionCategory> into, String id, Reader reader) {
+        CategoryFile file = GSON.fromJson(reader, CategoryFile.class);
+        if (file == null || file.species == null || file.species.isEmpty()) {
+            PokeAlertClient.LOGGER.warn("Category {} has no species, skipping", id);
+            return;
+        }
+        String name = file.name != null && !file.name.isBlank() ? file.name : id;
+        String description = file.description != null ? file.description : "";
+        into.put(id, new DetectionCategory(id, name, description, file.species, false));
+    }
+
+    /**
+     * Merge the sources: built-ins can't be replaced, config files override resource packs
+     */
+    private static void rebuild() {
+        Map<String, DetectionCategory> merged = new LinkedHashMap<>(builtInCategories);
+        for (DetectionCategory category : resourceCategories.values()) {
+            merged.putIfAbsent(category.getId(), category);
+        }
+        for (DetectionCategory category : configCategories.values()) {
+            if (!builtInCategories.containsKey(category.getId())) {
+                merged.put(category.getId(), category);
+            }
+        }
+        categories = merged;
+        PokeAlertClient.LOGGER.info("Loaded {} detection categories ({} custom)", merged.size(), merged.size() - builtInCategories.size());
+    }
+
+    private static void addBuiltIn(Map<String, DetectionCategory> into, String id, String name, String description, int category) {
+        List<String> species = new ArrayList<>();
+        for (SpeciesCatalog.Entry entry : SpeciesCatalog.getSpecies(category)) {
+            species.add(entry.getKey());
+        }
+        into.put(id, new DetectionCategory(id, name, description, species, true));
+    }
+
+    private static String idFromFileName(String fileName) {
+        return fileName.substring(0, fileName.length() - ".json".length()).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * All categories, built-ins first
+     */
+    public static Collection<DetectionCategory> getCategories() {
+        return categories.values();
+    }
+
+    /**
+     * User-defined categories only
+     */
+    public static List<DetectionCategory> getCustomCategories() {
+        List<DetectionCategory> custom = new ArrayList<>();
+        for (DetectionCategory category : categories.values()) {
+            if (!category.isBuiltIn()) {
+                custom.add(category);
+            }
+        }
+        return custom;
+    }
+
+    /**
+     * @return the category, or null if there is none with this id
+     */
+    public static DetectionCategory get(String id) {
+        return categories.get(id.toLowerCase(Locale.ROOT));
+    }
+}
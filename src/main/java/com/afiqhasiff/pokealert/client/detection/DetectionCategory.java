@@ -0,0 +1,49 @@
+package com.afiqhasiff.pokealert.client.detection;
+
+import java.util.List;
+
+/**
+ * A named group of species that can be toggled as a whole, either built in
+ * (legendaries, mythics, ...) or defined in a JSON data file.
+ */
+public final class DetectionCategory {
+    private final String id;
+    private final String name;
+    private final String description;
+    private final List<String> species;
+    private final boolean builtIn;
+
+    public DetectionCategory(String id, String name, String description, List<String> species, boolean builtIn) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.species = List.copyOf(species);
+        this.builtIn = builtIn;
+    }
+
+    /**
+     * Identifier used in commands and the config, e.g. "legendaries" or "pseudo_legendaries"
+     */
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Species names as written in the definition
+     */
+    public List<String> getSpecies() {
+        return species;
+    }
+
+    public boolean isBuiltIn() {
+        return builtIn;
+    }
+}
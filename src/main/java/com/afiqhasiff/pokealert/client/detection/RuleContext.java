@@ -0,0 +1,65 @@
+package com.afiqhasiff.pokealert.client.detection;
+
+import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.world.biome.Biome;
+
+import java.util.Set;
+
+/**
+ * The view of a Pokemon entity that {@link SpawnRules} are evaluated against.
+ * Every property is read on first use and remembered, so a clause that is never
+ * reached (because a cheaper clause before it failed) never pays for its lookup,
+ * and several rules reading the same property only read it once.
+ * Only exposes what the client actually knows about a wild Pokemon: species, form
+ * aspects, shininess and level are synced by the server, the world and biome are local.
+ * Must be used on the client thread, since it reads the entity and the world.
+ */
+public final class RuleContext {
+    private final PokemonEntity entity;
+    private final Pokemon pokemon;
+    private final String worldName;
+
+    private String speciesName;
+    private RegistryEntry<Biome> biome;
+
+    public RuleContext(PokemonEntity entity, String worldName) {
+        this.entity = entity;
+        this.pokemon = entity.getPokemon();
+        this.worldName = worldName;
+    }
+
+    public String getSpeciesName() {
+        if (speciesName == null) {
+            speciesName = SpawnFilter.normalizeName(pokemon.getSpecies().getName());
+        }
+        return speciesName;
+    }
+
+    public boolean isShiny() {
+        return pokemon.getShiny();
+    }
+
+    public int getLevel() {
+        return pokemon.getLevel();
+    }
+
+    public String getWorldName() {
+        return worldName;
+    }
+
+    public Set<String> getAspects() {
+        return pokemon.getAspects();
+    }
+
+    /**
+     * The biome at the entity's position
+     */
+    public RegistryEntry<Biome> getBiome() {
+        if (biome == null) {
+            biome = entity.getWorld().getBiome(entity.getBlockPos());
+        }
+        return biome;
+    }
+}
@@ -0,0 +1,207 @@
+package com.afiqhasiff.pokealert.client.detection;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Bounded set of already-seen entity UUIDs.
+ * Stores the two UUID halves in primitive arrays (open addressing, linear probing)
+ * so membership checks are O(1) and never box. Entries expire after a time-to-live,
+ * and when the set is full the least recently seen entries are evicted.
+ * Not thread-safe: only used from the client thread.
+ */
+public class SeenEntitySet {
+    private final int capacity;
+    private final long ttlMillis;
+
+    // Parallel arrays; a slot is empty when its timestamp is 0
+    private final long[] mostBits;
+    private final long[] leastBits;
+    private final long[] seenAt;
+    private final int mask;
+    // Reused by evictOldest to rank timestamps without allocating
+    private final long[] scratch;
+
+    private int size = 0;
+    private long evictionCount = 0;
+    private long lastSweep = 0;
+
+    public SeenEntitySet(int capacity, long ttlMillis) {
+        this.capacity = capacity;
+        this.ttlMillis = ttlMillis;
+
+        // Keep the load factor at or below 0.5 so probe sequences stay short
+        int tableSize = Integer.highestOneBit(Math.max(capacity, 8) * 2 - 1) << 1;
+        this.mostBits = new long[tableSize];
+        this.leastBits = new long[tableSize];
+        this.seenAt = new long[tableSize];
+        this.mask = tableSize - 1;
+        this.scratch = new long[capacity];
+    }
+
+    /**
+     * Mark a UUID as seen.
+     * @return true if the UUID was not in the set (first sighting), false if it was already seen
+     */
+    public boolean add(UUID uuid) {
+        return add(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), System.currentTimeMillis());
+    }
+
+    public boolean add(long most, long least, long now) {
+        // Periodically drop expired entries so the set tracks recent sightings only
+        if (now - lastSweep > ttlMillis / 4) {
+            evictExpired(now);
+        }
+
+        int slot = indexOf(most, least);
+        if (seenAt[slot] != 0) {
+            // Already seen - refresh so it counts as recently used
+            seenAt[slot] = now;
+            return false;
+        }
+
+        if (size >= capacity) {
+            evictOldest();
+            slot = indexOf(most, least);
+        }
+
+        mostBits[slot] = most;
+        leastBits[slot] = least;
+        seenAt[slot] = now;
+        size++;
+        return true;
+    }
+
+    public boolean contains(UUID uuid) {
+        return seenAt[indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits())] != 0;
+    }
+
+    /**
+     * Forget everything (world or server change)
+     */
+    public void clear() {
+        Arrays.fill(seenAt, 0L);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of slots in the table (a power of two, at least twice the capacity)
+     */
+    int getTableSize() {
+        return seenAt.length;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Find the slot holding the key, or the empty slot where it would be inserted
+     */
+    private int indexOf(long most, long least) {
+        int slot = hash(most, least) & mask;
+        while (seenAt[slot] != 0 && (mostBits[slot] != most || leastBits[slot] != least)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Package-private so tests can construct colliding keys
+    static int hash(long most, long least) {
+        long h = most ^ (least * 0x9E3779B97F4A7C15L);
+        h ^= (h >>> 33);
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= (h >>> 33);
+        return (int) h;
+    }
+
+    private void evictExpired(long now) {
+        lastSweep = now;
+        evictOlderThan(now - ttlMillis);
+    }
+
+    /**
+     * Evict the older half (by count) of the entries, which always includes the oldest one.
+     * Evicting in bulk keeps the full-scan and sort cost amortized over many insertions.
+     */
+    private void evictOldest() {
+        int count = 0;
+        for (long timestamp : seenAt) {
+            if (timestamp != 0) {
+                scratch[count++] = timestamp;
+            }
+        }
+        int toEvict = count - capacity / 2;
+        if (toEvict <= 0) {
+            return;
+        }
+        Arrays.sort(scratch, 0, count);
+
+        // Everything older than the toEvict-th oldest timestamp goes, then as many
+        // entries seen at exactly that time as are still needed
+        long cutoff = scratch[toEvict - 1];
+        int older = toEvict - 1;
+        while (older > 0 && scratch[older - 1] == cutoff) {
+            older--;
+        }
+        evictOlderThan(cutoff);
+        int atCutoff = toEvict - older;
+        for (int i = 0; i < seenAt.length && atCutoff > 0; ) {
+            if (seenAt[i] == cutoff) {
+                removeAt(i);
+                evictionCount++;
+                atCutoff--;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private void evictOlderThan(long cutoff) {
+        for (int i = 0; i < seenAt.length; ) {
+            if (seenAt[i] != 0 && seenAt[i] < cutoff) {
+                // removeAt may shift another entry into slot i, so check it again
+                removeAt(i);
+                evictionCount++;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Remove the entry at a slot using backward-shift deletion (no tombstones)
+     */
+    private void removeAt(int slot) {
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (seenAt[next] == 0) {
+                break;
+            }
+            int home = hash(mostBits[next], leastBits[next]) & mask;
+            // Leave the entry where it is if its home slot lies cyclically in (hole, next]
+            boolean inRange = hole <= next
+                ? (hole < home && home <= next)
+                : (hole < home || home <= next);
+            if (inRange) {
+                continue;
+            }
+            mostBits[hole] = mostBits[next];
+            leastBits[hole] = leastBits[next];
+            seenAt[hole] = seenAt[next];
+            hole = next;
+        }
+        seenAt[hole] = 0;
+        size--;
+    }
+}
@@ -0,0 +1,211 @@
+package com.afiqhasiff.pokealert.client.detection;
+
+import com.afiqhasiff.pokealert.client.PokeAlertClient;
+import com.afiqhasiff.pokealert.client.config.PokeAlertConfig;
+import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import com.cobblemon.mod.common.pokemon.Species;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+import net.minecraft.entity.Entity;
+
+/**
+ * Event-driven Pokemon spawn detection.
+ * Pokemon entities are queued when they are loaded into the client world and
+ * captured once on the following client tick, so a tick with no new entities
+ * costs a single empty-queue check instead of a full world entity scan.
+ * Captured spawns are handed to the {@link SpawnPipeline} for classification.
+ */
+public class SpawnDetector {
+    // Seen-set bounds: enough for hours on a busy server, ~460KB of primitive arrays
+    private static final int SEEN_CAPACITY = 8192;
+    private static final long SEEN_TTL_MILLIS = 60 * 60 * 1000; // 1 hour
+
+    private final PokeAlertClient mod;
+
+    // Prevents duplicate messages when an already-seen Pokemon is loaded again.
+    // Keyed on the Pokemon's own UUID, which (unlike the entity UUID) stays the same
+    // when the entity is recreated, e.g. recalled and sent out again or reloaded with its chunk.
+    private final SeenEntitySet seenEntities = new SeenEntitySet(SEEN_CAPACITY, SEEN_TTL_MILLIS);
+    private ClientWorld lastWorld;
+    // Resolved once per world rather than every tick
+    private String lastWorldName;
+    // The excluded worlds list the flag was checked against; the config replaces the array when it changes
+    private String[] checkedExclusions;
+    private boolean worldExcluded;
+
+    // Entities loaded since the last tick, waiting to be classified, by entity id in load order
+    // so an unload removes its entry directly. Only touched from the client thread.
+    private final Int2ObjectLinkedOpenHashMap<PokemonEntity> pending = new Int2ObjectLinkedOpenHashMap<>();
+
+    // Advanced rule evaluation cost, for /pokealert status (client thread only)
+    private long ruleEvaluations = 0;
+    private long ruleNanos = 0;
+    private long ownedSkipped = 0;
+
+    public SpawnDetector(PokeAlertClient mod) {
+        this.mod = mod;
+    }
+
+    /**
+     * Register the entity load/unload listeners
+     */
+    public void register() {
+        ClientEntityEvents.ENTITY_LOAD.register(this::onEntityLoad);
+        ClientEntityEvents.ENTITY_UNLOAD.register(this::onEntityUnload);
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> reset());
+    }
+
+    private void onEntityLoad(Entity entity, ClientWorld world) {
+        if (entity instanceof PokemonEntity pokemonEntity) {
+            pending.put(pokemonEntity.getId(), pokemonEntity);
+        }
+    }
+
+    private void onEntityUnload(Entity entity, ClientWorld world) {
+        if (entity instanceof PokemonEntity && !pending.isEmpty()) {
+            pending.remove(entity.getId());
+        }
+    }
+
+    /**
+     * Capture the Pokemon loaded since the last tick.
+     * Capture is deferred to the tick (rather than done inside the load event)
+     * so the entity's synced Pokemon data has arrived before we read it.
+     * While the mod is disabled entities stay queued (the queue is bounded by unloads)
+     * so they are still picked up once the mod is enabled again.
+     */
+    public void tick(MinecraftClient client) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Forget seen entities when moving to another world
+        ClientWorld world = client.world;
+        if (world != lastWorld) {
+            lastWorld = world;
+            lastWorldName = world != null ? world.getRegistryKey().getValue().toString() : null;
+            checkedExclusions = null;
+            seenEntities.clear();
+        }
+
+        PokeAlertConfig config = mod.config;
+        if (!config.modEnabled || world == null || client.player == null) {
+            return;
+        }
+
+        // Check if current world is excluded, only again once the world or the list changes
+        if (config.excludedWorlds != checkedExclusions) {
+            checkedExclusions = config.excludedWorlds;
+            worldExcluded = config.isWorldExcluded(lastWorldName);
+        }
+        if (worldExcluded) {
+            return;
+        }
+
+        // Species are synced from the server on join, so the filter may need resolving again
+        if (mod.spawnFilter.isStale()) {
+            mod.spawnFilter = SpawnFilter.compile(config);
+        }
+
+        while (!pending.isEmpty()) {
+            PokemonEntity pokemonEntity = pending.removeFirst();
+            if (pokemonEntity.isRemoved() || pokemonEntity.getWorld() != world) {
+                continue;
+            }
+            capture(pokemonEntity, lastWorldName);
+        }
+    }
+
+    /**
+     * Drop all queued and seen entities (e.g. when leaving a server)
+     */
+    public void reset() {
+        pending.clear();
+        seenEntities.clear();
+        lastWorld = null;
+        lastWorldName = null;
+        checkedExclusions = null;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public SeenEntitySet getSeenEntities() {
+        return seenEntities;
+    }
+
+    /**
+     * Number of player- or NPC-owned Pokemon skipped at capture
+     */
+    public long getOwnedSkippedCount() {
+        return ownedSkipped;
+    }
+
+    public long getRuleEvaluationCount() {
+        return ruleEvaluations;
+    }
+
+    /**
+     * Average time spent evaluating advanced rules per evaluated Pokemon, in nanoseconds
+     */
+    public long getAverageRuleNanos() {
+        return ruleEvaluations == 0 ? 0 : ruleNanos / ruleEvaluations;
+    }
+
+    private void capture(PokemonEntity pokemonEntity, String worldName) {
+        // Owned Pokemon (someone's team being sent out, an NPC trainer's party) are never
+        // wild spawns. Checked before the seen set so they don't take up space in it.
+        if (pokemonEntity.getOwnerUuid() != null) {
+            ownedSkipped++;
+            return;
+        }
+
+        Pokemon pokemon = pokemonEntity.getPokemon();
+        if (!seenEntities.add(pokemon.getUuid())) {
+            return;
+        }
+
+        // Skip boss Pokemon (servers mark them with a custom name containing § or "Boss").
+        // Only renamed entities are checked, so normal spawns never resolve a Text component.
+        if (pokemonEntity.hasCustomName()) {
+            String customName = pokemonEntity.getCustomName().getString();
+            if (customName.contains("§") || customName.toLowerCase().contains("boss")) {
+                return;
+            }
+        }
+
+        // Capture plain values only; classification and dispatch happen off-thread.
+        // Species id is used rather than the (localized, nickname-able) display name.
+        Species species = pokemon.getSpecies();
+
+        // Advanced rules need the entity, so they run here rather than in the pipeline -
+        // but only when configured and when the species bitset doesn't already match.
+        // The blacklist applies after the rules, so a rule can't bring a blacklisted species back
+        boolean ruleMatched = false;
+        SpawnFilter filter = mod.spawnFilter;
+        SpawnRules rules = filter.getRules();
+        int speciesId = species.getNationalPokedexNumber();
+        if (!rules.isEmpty() && !filter.shouldNotify(speciesId, pokemon.getShiny()) && !filter.isBlacklisted(speciesId)) {
+            long start = System.nanoTime();
+            ruleMatched = rules.matches(new RuleContext(pokemonEntity, worldName));
+            ruleNanos += System.nanoTime() - start;
+            ruleEvaluations++;
+        }
+
+        mod.spawnPipeline.submit(new SpawnSnapshot(
+            speciesId,
+            species.getName(),
+            pokemon.getShiny(),
+            (int) pokemonEntity.getX(),
+            (int) pokemonEntity.getY(),
+            (int) pokemonEntity.getZ(),
+            worldName,
+            ruleMatched
+        ));
+    }
+}
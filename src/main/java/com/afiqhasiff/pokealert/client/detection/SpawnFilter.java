@@ -0,0 +1,206 @@
+package com.afiqhasiff.pokealert.client.detection;
+
+import com.afiqhasiff.pokealert.client.config.PokeAlertConfig;
+import com.cobblemon.mod.common.api.pokemon.PokemonSpecies;
+import com.cobblemon.mod.common.pokemon.Species;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable, precompiled snapshot of the detection filter.
+ * The combined whitelist (categories + custom whitelist) minus the blacklist is
+ * compiled into a bitset indexed by national Pokedex number, so deciding whether a
+ * Pokemon should trigger a notification is a single bit test on its species -
+ * no display names, translations or string building on the hot path.
+ * Advanced {@link SpawnRules} are compiled along with it; they need the entity, so
+ * they are evaluated at capture time, and only for Pokemon the bitset doesn't match.
+ * Blacklisted species are kept in a second bitset so rules can't override the blacklist.
+ * A new snapshot is compiled whenever the configuration is reloaded, and whenever
+ * Cobblemon's species registry changes (it is synced from the server on join).
+ */
+public final class SpawnFilter {
+    private final Set<String> names;
+    private final long[] speciesBits;
+    private final long[] blacklistBits;
+    private final int size;
+    private final int resolvedSpeciesCount;
+    private final boolean notifyShinies;
+    private final SpawnRules rules;
+
+    private SpawnFilter(Set<String> names, long[] speciesBits, long[] blacklistBits, int size, int resolvedSpeciesCount, boolean notifyShinies, SpawnRules rules) {
+        this.names = names;
+        this.speciesBits = speciesBits;
+        this.blacklistBits = blacklistBits;
+        this.size = size;
+        this.resolvedSpeciesCount = resolvedSpeciesCount;
+        this.notifyShinies = notifyShinies;
+        this.rules = rules;
+    }
+
+    /**
+     * Compile a filter snapshot from the given configuration against the
+     * currently loaded species registry
+     */
+    public static SpawnFilter compile(PokeAlertConfig config) {
+        Set<String> names = new HashSet<>();
+        for (String name : config.getCombinedWhitelist()) {
+            names.add(normalizeName(name));
+        }
+        // Blacklist always wins, so it is applied at compile time
+        Set<String> blacklist = new HashSet<>();
+        for (String blacklisted : config.broadcastBlacklist) {
+            blacklist.add(normalizeName(blacklisted));
+        }
+        names.removeAll(blacklist);
+
+        Collection<Species> registry = PokemonSpecies.INSTANCE.getSpecies();
+        int maxDex = 0;
+        for (Species species : registry) {
+            maxDex = Math.max(maxDex, species.getNationalPokedexNumber());
+        }
+
+        long[] bits = new long[(maxDex >>> 6) + 1];
+        long[] blacklistBits = new long[bits.length];
+        int size = 0;
+        for (Species species : registry) {
+            int dex = species.getNationalPokedexNumber();
+            if (dex <= 0) {
+                continue;
+            }
+            String id = species.getResourceIdentifier().getPath();
+            String name = normalizeName(species.getName());
+            if (names.contains(id) || names.contains(name)) {
+                if (setBit(bits, dex)) {
+                    size++;
+                }
+            } else if (blacklist.contains(id) || blacklist.contains(name)) {
+                setBit(blacklistBits, dex);
+            }
+        }
+
+        return new SpawnFilter(names, bits, blacklistBits, size, registry.size(), config.broadcastAllShinies, SpawnRules.compile(config.spawnRules));
+    }
+
+    /**
+     * A filter matching exactly the given Pokedex numbers, without a config or species registry (for tests)
+     */
+    static SpawnFilter ofSpeciesIds(boolean notifyShinies, int... speciesIds) {
+        return ofSpeciesIds(notifyShinies, new int[0], speciesIds);
+    }
+
+    /**
+     * Same, with blacklisted Pokedex numbers (for tests)
+     */
+    static SpawnFilter ofSpeciesIds(boolean notifyShinies, int[] blacklistIds, int... speciesIds) {
+        int maxDex = 0;
+        for (int dex : speciesIds) {
+            maxDex = Math.max(maxDex, dex);
+        }
+        for (int dex : blacklistIds) {
+            maxDex = Math.max(maxDex, dex);
+        }
+        long[] bits = new long[(maxDex >>> 6) + 1];
+        long[] blacklistBits = new long[bits.length];
+        int size = 0;
+        for (int dex : speciesIds) {
+            if (dex > 0 && setBit(bits, dex)) {
+                size++;
+            }
+        }
+        for (int dex : blacklistIds) {
+            if (dex > 0) {
+                setBit(blacklistBits, dex);
+            }
+        }
+        return new SpawnFilter(Set.of(), bits, blacklistBits, size, 0, notifyShinies, SpawnRules.EMPTY);
+    }
+
+    /**
+     * @return true if the bit wasn't set before
+     */
+    private static boolean setBit(long[] bits, int dex) {
+        if ((bits[dex >>> 6] & (1L << dex)) != 0) {
+            return false;
+        }
+        bits[dex >>> 6] |= 1L << dex;
+        return true;
+    }
+
+    /**
+     * Check if a Pokemon should trigger a notification
+     * @param speciesId The national Pokedex number of the Pokemon's species
+     * @param isShiny Whether the Pokemon is shiny
+     * @return true if the species is whitelisted (and not blacklisted), or the Pokemon is shiny with shinies enabled
+     */
+    public boolean shouldNotify(int speciesId, boolean isShiny) {
+        return (isShiny && notifyShinies) || contains(speciesId);
+    }
+
+    /**
+     * Single bit test against the compiled species bitset
+     */
+    public boolean contains(int speciesId) {
+        return testBit(speciesBits, speciesId);
+    }
+
+    /**
+     * Whether the species is on the broadcast blacklist; such species never match a rule
+     */
+    public boolean isBlacklisted(int speciesId) {
+        return testBit(blacklistBits, speciesId);
+    }
+
+    private static boolean testBit(long[] bits, int speciesId) {
+        int word = speciesId >>> 6;
+        return speciesId > 0 && word < bits.length && (bits[word] & (1L << speciesId)) != 0;
+    }
+
+    /**
+     * The compiled advanced spawn rules (empty if none are configured)
+     */
+    public SpawnRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Whether the species registry has changed since this snapshot was compiled
+     */
+    public boolean isStale() {
+        return PokemonSpecies.INSTANCE.getSpecies().size() != resolvedSpeciesCount;
+    }
+
+    /**
+     * Number of species that trigger a notification
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of configured names, including ones that matched no loaded species
+     */
+    public int getConfiguredNameCount() {
+        return names.size();
+    }
+
+    /**
+     * Normalize a Pokemon name to Cobblemon's species identifier form,
+     * e.g. "Ho-Oh" -> "hooh", "Mr. Mime" -> "mrmime", "Flabébé" -> "flabebe"
+     */
+    public static String normalizeName(String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        // Decompose accented letters so their base letter survives the filter below
+        String lower = Normalizer.normalize(name, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+}
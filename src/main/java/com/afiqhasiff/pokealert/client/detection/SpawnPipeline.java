@@ -0,0 +1,148 @@
+package com.afiqhasiff.pokealert.client.detection;
+
+import com.afiqhasiff.pokealert.client.PokeAlertClient;
+import com.afiqhasiff.pokealert.client.notification.PokemonSpawnData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Off-thread spawn processing.
+ * The client thread only captures {@link SpawnSnapshot}s into a lock-free queue;
+ * a dedicated pipeline thread classifies them against the compiled filter, builds
+ * {@link PokemonSpawnData}, dispatches notifications and resolves rarity asynchronously.
+ * Large bursts (e.g. joining a chunk-loaded area) are classified in parallel on a
+ * small fork/join pool.
+ */
+public class SpawnPipeline {
+    // Batches at least this large are classified in parallel
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private final PokeAlertClient mod;
+    private final ConcurrentLinkedQueue<SpawnSnapshot> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "PokeAlert-Pipeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ForkJoinPool classifierPool = new ForkJoinPool(
+        Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+        pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("PokeAlert-Classifier-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        },
+        null,
+        false
+    );
+
+    // Counters for /pokealert status
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong matched = new AtomicLong();
+
+    public SpawnPipeline(PokeAlertClient mod) {
+        this.mod = mod;
+    }
+
+    /**
+     * Hand a captured spawn over to the pipeline. Called from the client thread; never blocks.
+     */
+    public void submit(SpawnSnapshot snapshot) {
+        queue.add(snapshot);
+        captured.incrementAndGet();
+        if (drainScheduled.compareAndSet(false, true)) {
+            worker.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+
+        List<SpawnSnapshot> batch = new ArrayList<>();
+        SpawnSnapshot snapshot;
+        while ((snapshot = queue.poll()) != null) {
+            batch.add(snapshot);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Read the filter once so the whole batch sees a consistent snapshot
+        SpawnFilter filter = mod.spawnFilter;
+        List<SpawnSnapshot> matches;
+        if (batch.size() >= PARALLEL_THRESHOLD) {
+            matches = classifierPool.submit(() -> batch.parallelStream()
+                .filter(s -> s.isRuleMatched() || filter.shouldNotify(s.getSpeciesId(), s.isShiny()))
+                .toList()).join();
+        } else {
+            matches = new ArrayList<>();
+            for (SpawnSnapshot s : batch) {
+                if (s.isRuleMatched() || filter.shouldNotify(s.getSpeciesId(), s.isShiny())) {
+                    matches.add(s);
+                }
+            }
+        }
+
+        for (SpawnSnapshot match : matches) {
+            try {
+                dispatch(match);
+            } catch (Exception e) {
+                PokeAlertClient.LOGGER.error("Error processing spawn of {}: {}", match.getSpeciesName(), e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch(SpawnSnapshot snapshot) {
+        matched.incrementAndGet();
+
+        PokemonSpawnData spawnData = new PokemonSpawnData(
+            snapshot.getSpeciesId(),
+            snapshot.getSpeciesName(),
+            snapshot.isShiny(),
+            snapshot.getX(),
+            snapshot.getY(),
+            snapshot.getZ(),
+            snapshot.getWorldName(),
+            // Detection time, so time-to-phone includes the wait in the pipeline
+            snapshot.getCapturedAt()
+        );
+
+        // Start the rarity lookup, but don't wait for it: notifications go out with the
+        // rarity known locally, and services that can update their alert once it completes
+        spawnData.resolveRarity().whenComplete((rarity, error) -> {
+            if (error != null) {
+                PokeAlertClient.LOGGER.error("Failed to resolve rarity for {}: {}", spawnData.getPokemonName(), error.getMessage());
+            }
+        });
+
+        // Send notification through all services
+        mod.notificationManager.notifyAll(spawnData);
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    public long getCapturedCount() {
+        return captured.get();
+    }
+
+    public long getMatchedCount() {
+        return matched.get();
+    }
+
+    public void shutdown() {
+        worker.shutdownNow();
+        classifierPool.shutdownNow();
+    }
+}
@@ -0,0 +1,290 @@
+package com.afiqhasiff.pokealert.client.detection;
+
+import com.afiqhasiff.pokealert.client.PokeAlertClient;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.biome.Biome;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled advanced spawn rules.
+ * A rule is a list of clauses that must all hold; a Pokemon matches if any rule
+ * matches. Each clause is {@code key<op>value}, with or without spaces around the
+ * operator, and comma-separated values match any of them:
+ * <pre>
+ * aspect=alolan,galarian                      regional forms
+ * level &gt;= 50 dimension = minecraft:the_nether  level 50+ in the Nether
+ * species=dratini level&gt;=30                  high-level Dratini
+ * biome=#minecraft:is_ocean shiny=true        shinies in any ocean biome
+ * </pre>
+ * Keys: species, shiny, dimension, level, aspect and biome (id or #tag). Numeric keys
+ * take =, !=, &gt;, &gt;=, &lt;, &lt;=; the others take = and !=.
+ * Only properties the client can see are supported: the server syncs species, form
+ * aspects, shininess and level of wild Pokemon, and the world and biome are local.
+ * Nature, ability and IVs are not synced (the client sees defaults), so rules using
+ * them are rejected with a warning rather than silently never matching.
+ * Rules still never notify for a species on the broadcast blacklist.
+ * Each rule is compiled once into a predicate chain with its cheapest clauses first,
+ * so the expensive lookups in {@link RuleContext} only happen once everything before
+ * them has passed.
+ */
+public final class SpawnRules {
+    public static final SpawnRules EMPTY = new SpawnRules(List.of());
+
+    // key, operator, then one or more comma-separated values; whitespace is allowed between all of them
+    private static final Pattern CLAUSE = Pattern.compile(
+        "\\s*([a-z_]+)\\s*(>=|<=|!=|=|>|<)\\s*([^\\s,=<>!]+(?:\\s*,\\s*[^\\s,=<>!]+)*)\\s*");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // Server-side properties that wild Pokemon don't sync to the client
+    private static final Set<String> SERVER_ONLY_KEYS = Set.of("nature", "ability", "ivs", "perfect_ivs");
+
+    // Relative clause costs; clauses are evaluated in ascending order
+    private static final int COST_FIELD = 0;    // plain fields already on the Pokemon
+    private static final int COST_LOOKUP = 1;   // needs a registry or collection lookup
+    private static final int COST_WORLD = 2;    // reads the world
+
+    private final List<Predicate<RuleContext>> rules;
+
+    private SpawnRules(List<Predicate<RuleContext>> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Compile rules from their text form. Invalid rules are logged and skipped.
+     */
+    public static SpawnRules compile(String[] sources) {
+        List<Predicate<RuleContext>> rules = new ArrayList<>();
+        for (String source : sources) {
+            if (source == null || source.isBlank()) {
+                continue;
+            }
+            try {
+                rules.add(compileRule(source.trim()));
+            } catch (IllegalArgumentException e) {
+                PokeAlertClient.LOGGER.warn("Ignoring spawn rule '{}': {}", source, e.getMessage());
+            }
+        }
+        return rules.isEmpty() ? EMPTY : new SpawnRules(List.copyOf(rules));
+    }
+
+    /**
+     * @return true if any rule matches the Pokemon
+     */
+    public boolean matches(RuleContext context) {
+        for (Predicate<RuleContext> rule : rules) {
+            if (rule.test(context)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    // Package-private for tests
+    static Predicate<RuleContext> compileRule(String source) {
+        List<Clause> clauses = new ArrayList<>();
+        for (String[] clause : tokenize(source)) {
+            clauses.add(compileClause(clause[0], clause[1], clause[2]));
+        }
+
+        // Chain in ascending cost; Predicate.and short-circuits, so later clauses
+        // (and the properties they read) are skipped as soon as one fails
+        clauses.sort(Comparator.comparingInt(clause -> clause.cost));
+        Predicate<RuleContext> chain = clauses.get(0).test;
+        for (int i = 1; i < clauses.size(); i++) {
+            chain = chain.and(clauses.get(i).test);
+        }
+        return chain;
+    }
+
+    /**
+     * Split a rule into its clauses
+     * @return {key, operator, value} per clause, lowercased, with whitespace removed from the value
+     * @throws IllegalArgumentException if part of the rule isn't a clause
+     */
+    static List<String[]> tokenize(String source) {
+        String rule = source.toLowerCase(Locale.ROOT);
+        Matcher matcher = CLAUSE.matcher(rule);
+        List<String[]> clauses = new ArrayList<>();
+        int at = 0;
+        while (at < rule.length()) {
+            matcher.region(at, rule.length());
+            if (!matcher.lookingAt()) {
+                throw new IllegalArgumentException("can't parse '" + rule.substring(at).trim() + "'");
+            }
+            clauses.add(new String[] {
+                matcher.group(1), matcher.group(2), WHITESPACE.matcher(matcher.group(3)).replaceAll("")
+            });
+            at = matcher.end();
+        }
+        if (clauses.isEmpty()) {
+            throw new IllegalArgumentException("empty rule");
+        }
+        return clauses;
+    }
+
+    private static Clause compileClause(String key, String op, String value) {
+        if (SERVER_ONLY_KEYS.contains(key)) {
+            throw new IllegalArgumentException("'" + key + "' isn't synced to the client for wild Pokemon");
+        }
+        return switch (key) {
+            case "species" -> {
+                Set<String> names = new HashSet<>();
+                for (String name : values(value)) {
+                    names.add(SpawnFilter.normalizeName(name));
+                }
+                yield equality(key, op, COST_FIELD, context -> names.contains(context.getSpeciesName()));
+            }
+            case "shiny" -> {
+                boolean shiny = parseBoolean(value);
+                yield equality(key, op, COST_FIELD, context -> context.isShiny() == shiny);
+            }
+            case "dimension" -> {
+                List<String> dimensions = values(value);
+                yield equality(key, op, COST_FIELD, context -> matchesWorld(dimensions, context.getWorldName()));
+            }
+            case "level" -> numeric(op, value, COST_FIELD, RuleContext::getLevel);
+            case "aspect" -> {
+                List<String> aspects = values(value);
+                yield equality(key, op, COST_LOOKUP, context -> {
+                    Set<String> present = context.getAspects();
+                    for (String aspect : aspects) {
+                        if (present.contains(aspect)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                });
+            }
+            case "biome" -> {
+                List<Predicate<RegistryEntry<Biome>>> biomes = new ArrayList<>();
+                for (String biome : values(value)) {
+                    biomes.add(compileBiome(biome));
+                }
+                yield equality(key, op, COST_WORLD, context -> {
+                    RegistryEntry<Biome> biome = context.getBiome();
+                    for (Predicate<RegistryEntry<Biome>> matches : biomes) {
+                        if (matches.test(biome)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                });
+            }
+            default -> throw new IllegalArgumentException("unknown key '" + key + "'");
+        };
+    }
+
+    private static Clause equality(String key, String op, int cost, Predicate<RuleContext> test) {
+        return switch (op) {
+            case "=" -> new Clause(cost, test);
+            case "!=" -> new Clause(cost, test.negate());
+            default -> throw new IllegalArgumentException("'" + key + "' only supports = and !=");
+        };
+    }
+
+    private static Clause numeric(String op, String value, int cost, ToIntFunction<RuleContext> property) {
+        int bound;
+        try {
+            bound = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + value + "' is not a number");
+        }
+        IntPredicate compare = switch (op) {
+            case "=" -> v -> v == bound;
+            case "!=" -> v -> v != bound;
+            case ">" -> v -> v > bound;
+            case ">=" -> v -> v >= bound;
+            case "<" -> v -> v < bound;
+            case "<=" -> v -> v <= bound;
+            default -> throw new IllegalArgumentException("unknown operator '" + op + "'");
+        };
+        return new Clause(cost, context -> compare.test(property.applyAsInt(context)));
+    }
+
+    /**
+     * Parse a biome id ("minecraft:plains"), a bare path ("plains", any namespace)
+     * or a biome tag ("#minecraft:is_nether") once, rather than on every evaluation
+     */
+    private static Predicate<RegistryEntry<Biome>> compileBiome(String value) {
+        if (value.startsWith("#")) {
+            Identifier tag = Identifier.tryParse(value.substring(1));
+            if (tag == null) {
+                throw new IllegalArgumentException("'" + value + "' is not a biome tag");
+            }
+            TagKey<Biome> tagKey = TagKey.of(RegistryKeys.BIOME, tag);
+            return biome -> biome.isIn(tagKey);
+        }
+        if (value.indexOf(':') < 0) {
+            return biome -> biome.getKey().map(key -> key.getValue().getPath().equals(value)).orElse(false);
+        }
+        Identifier id = Identifier.tryParse(value);
+        if (id == null) {
+            throw new IllegalArgumentException("'" + value + "' is not a biome id");
+        }
+        return biome -> biome.matchesId(id);
+    }
+
+    /**
+     * Same matching as the excluded worlds list: "the_nether" matches "minecraft:the_nether"
+     */
+    private static boolean matchesWorld(List<String> dimensions, String worldName) {
+        for (String dimension : dimensions) {
+            if (worldName.equals(dimension) || worldName.endsWith(":" + dimension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean parseBoolean(String value) {
+        return switch (value) {
+            case "true", "yes" -> true;
+            case "false", "no" -> false;
+            default -> throw new IllegalArgumentException("'" + value + "' is not true or false");
+        };
+    }
+
+    private static List<String> values(String value) {
+        List<String> values = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.isEmpty()) {
+                values.add(part);
+            }
+        }
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("missing value");
+        }
+        return values;
+    }
+
+    private static final class Clause {
+        final int cost;
+        final Predicate<RuleContext> test;
+
+        Clause(int cost, Predicate<RuleContext> test) {
+            this.cost = cost;
+            this.test = test;
+        }
+    }
+}
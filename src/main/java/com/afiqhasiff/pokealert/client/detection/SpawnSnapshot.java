@@ -0,0 +1,69 @@
+package com.afiqhasiff.pokealert.client.detection;
+
+/**
+ * Immutable capture of a newly loaded Pokemon, taken on the client thread.
+ * Holds only plain values so it can be classified on worker threads without
+ * touching the entity or the world.
+ */
+public final class SpawnSnapshot {
+    private final int speciesId;
+    private final String speciesName;
+    private final boolean isShiny;
+    private final int x;
+    private final int y;
+    private final int z;
+    private final String worldName;
+    private final boolean ruleMatched;
+    private final long capturedAt;
+
+    public SpawnSnapshot(int speciesId, String speciesName, boolean isShiny, int x, int y, int z, String worldName, boolean ruleMatched) {
+        this.speciesId = speciesId;
+        this.speciesName = speciesName;
+        this.isShiny = isShiny;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.worldName = worldName;
+        this.ruleMatched = ruleMatched;
+        this.capturedAt = System.currentTimeMillis();
+    }
+
+    public int getSpeciesId() {
+        return speciesId;
+    }
+
+    public String getSpeciesName() {
+        return speciesName;
+    }
+
+    public boolean isShiny() {
+        return isShiny;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getZ() {
+        return z;
+    }
+
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Whether an advanced spawn rule matched at capture time
+     */
+    public boolean isRuleMatched() {
+        return ruleMatched;
+    }
+
+    public long getCapturedAt() {
+        return capturedAt;
+    }
+}
@@ -3,11 +3,14 @@ package com.afiqhasiff.pokealert.client.notification;
 import com.afiqhasiff.pokealert.client.PokeAlertClient;
 import com.afiqhasiff.pokealert.client.config.ConfigManager;
 import com.afiqhasiff.pokealert.client.config.PokeAlertConfig;
+import com.afiqhasiff.pokealert.client.util.ChatPrefix;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 
-import java.util.concurrent.CompletableFuture;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -22,6 +25,10 @@ public class EggTimerManager {
     private int currentDuration;
     private long lastCancelPromptTime = 0;
     private static final long CANCEL_CONFIRM_WINDOW = 3000; // 3 seconds in milliseconds
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm")
+        .withZone(ZoneId.systemDefault());
+    // Shared by every egg timer chat message
+    private static final Text CLOCK = Text.literal("⏰ ").formatted(Formatting.YELLOW);
     
     private EggTimerManager() {}
     
@@ -119,14 +126,12 @@ public class EggTimerManager {
         if (config.eggTimerTextNotification && config.inGameTextEnabled && client.player != null) {
             // Calculate expected end time
             long endTimeMillis = timerStartTime + (currentDuration * 60 * 1000);
-            String endTime = new java.text.SimpleDateFormat("HH:mm").format(new java.util.Date(endTimeMillis));
+            String endTime = TIME_FORMATTER.format(Instant.ofEpochMilli(endTimeMillis));
             
             client.execute(() -> {
                 client.player.sendMessage(
-                    Text.literal("[").formatted(Formatting.GRAY)
-                        .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                        .append(Text.literal("] ").formatted(Formatting.GRAY))
-                        .append(Text.literal("⏰ ").formatted(Formatting.YELLOW))
+                    ChatPrefix.prefixed()
+                        .append(CLOCK)
                         .append(Text.literal("Egg timer reminder: ").formatted(Formatting.WHITE))
                         .append(Text.literal(remainingMinutes + " minutes").formatted(Formatting.AQUA))
                         .append(Text.literal(" remaining (ends at ").formatted(Formatting.GRAY))
@@ -145,10 +150,8 @@ public class EggTimerManager {
             int remaining = getRemainingMinutes();
             client.execute(() -> {
                 client.player.sendMessage(
-                    Text.literal("[").formatted(Formatting.GRAY)
-                        .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                        .append(Text.literal("] ").formatted(Formatting.GRAY))
-                        .append(Text.literal("⏰ ").formatted(Formatting.YELLOW))
+                    ChatPrefix.prefixed()
+                        .append(CLOCK)
                         .append(Text.literal("Egg timer: ").formatted(Formatting.WHITE))
                         .append(Text.literal(remaining + " minutes").formatted(Formatting.AQUA))
                         .append(Text.literal(" remaining. Press ").formatted(Formatting.WHITE))
@@ -181,10 +184,8 @@ public class EggTimerManager {
         if (config.eggTimerTextNotification && config.inGameTextEnabled && client.player != null) {
             client.execute(() -> {
                 client.player.sendMessage(
-                    Text.literal("[").formatted(Formatting.GRAY)
-                        .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                        .append(Text.literal("] ").formatted(Formatting.GRAY))
-                        .append(Text.literal("⏰ ").formatted(Formatting.YELLOW))
+                    ChatPrefix.prefixed()
+                        .append(CLOCK)
                         .append(Text.literal("Egg timer started: ").formatted(Formatting.WHITE))
                         .append(Text.literal(currentDuration + " minutes").formatted(Formatting.AQUA))
                 );
@@ -197,7 +198,7 @@ public class EggTimerManager {
         MinecraftClient client = MinecraftClient.getInstance();
         
         // Calculate start time
-        String startTime = new java.text.SimpleDateFormat("HH:mm").format(new java.util.Date(timerStartTime));
+        String startTime = TIME_FORMATTER.format(Instant.ofEpochMilli(timerStartTime));
         
         // In-game notifications (text and sound)
         if (client.player != null) {
@@ -214,10 +215,8 @@ public class EggTimerManager {
                 // Send text notification
                 if (config.eggTimerTextNotification && config.inGameTextEnabled) {
                     client.player.sendMessage(
-                        Text.literal("[").formatted(Formatting.GRAY)
-                            .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                            .append(Text.literal("] ").formatted(Formatting.GRAY))
-                            .append(Text.literal("⏰ ").formatted(Formatting.YELLOW))
+                        ChatPrefix.prefixed()
+                            .append(CLOCK)
                             .append(Text.literal("Egg timer completed! ").formatted(Formatting.GREEN, Formatting.BOLD))
                             .append(Text.literal("(").formatted(Formatting.GRAY))
                             .append(Text.literal(currentDuration + " min").formatted(Formatting.AQUA))
@@ -229,21 +228,23 @@ public class EggTimerManager {
             });
         }
         
-        // Telegram notification using StringBuilder pattern
+        // Telegram notification from the configured egg timer template
         if (config.eggTimerTelegramNotification && config.telegramEnabled) {
-            CompletableFuture.runAsync(() -> {
-                TelegramNotification telegram = new TelegramNotification();
-                telegram.initialize();
-                
-                // Build message using StringBuilder with existing pattern
-                StringBuilder message = new StringBuilder();
-                message.append("<b>🎉 Egg Timer Complete!</b>\n");
-                message.append("• Duration: <i>").append(currentDuration).append(" minutes</i>\n");
-                message.append("• Started: <code>").append(startTime).append("</code>");
-                
-                telegram.sendEggTimerNotification(message.toString());
-            });
+            // Reuse the registered service (and its shared HTTP client); the send itself is async
+            TelegramNotification telegram = findTelegramService();
+            if (telegram != null) {
+                telegram.sendEggTimerNotification(currentDuration, startTime);
+            }
+        }
+    }
+    
+    private static TelegramNotification findTelegramService() {
+        for (NotificationService service : PokeAlertClient.getInstance().notificationManager.getServices()) {
+            if (service instanceof TelegramNotification telegram) {
+                return telegram;
+            }
         }
+        return null;
     }
     
     private void sendCancelNotification() {
@@ -253,10 +254,8 @@ public class EggTimerManager {
         if (config.eggTimerTextNotification && config.inGameTextEnabled && client.player != null) {
             client.execute(() -> {
                 client.player.sendMessage(
-                    Text.literal("[").formatted(Formatting.GRAY)
-                        .append(Text.literal("PokéAlert").formatted(Formatting.RED))
-                        .append(Text.literal("] ").formatted(Formatting.GRAY))
-                        .append(Text.literal("⏰ ").formatted(Formatting.YELLOW))
+                    ChatPrefix.prefixed()
+                        .append(CLOCK)
                         .append(Text.literal("Egg timer cancelled").formatted(Formatting.RED))
                 );
             });
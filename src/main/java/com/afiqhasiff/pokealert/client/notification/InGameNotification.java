@@ -1,18 +1,50 @@
 package com.afiqhasiff.pokealert.client.notification;
 
 import com.afiqhasiff.pokealert.client.PokeAlertClient;
+import com.afiqhasiff.pokealert.client.config.PokeAlertConfig;
+import com.afiqhasiff.pokealert.client.util.ChatPrefix;
+import com.afiqhasiff.pokealert.client.util.MessageTemplate;
 import com.afiqhasiff.pokealert.client.util.RarityScraper;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 
+import java.util.List;
+
 /**
  * In-game notification service.
  * Sends notifications via Minecraft chat and plays sound effects.
  */
 public class InGameNotification extends NotificationService {
+    private static final int FIELD_ARTICLE = 0;
+    private static final int FIELD_RARITY = 1;
+    private static final int FIELD_POKEMON = 2;
+    private static final int FIELD_X = 3;
+    private static final int FIELD_Y = 4;
+    private static final int FIELD_Z = 5;
+    private static final int FIELD_WORLD = 6;
+
     private final MinecraftClient client;
+    private final MessageTemplate.Cached template =
+        new MessageTemplate.Cached(List.of("article", "rarity", "pokemon", "x", "y", "z", "world"));
+    // Gray components for the literal parts of the last compiled template, kept with it
+    // so a reader never pairs one template with another's literals
+    private volatile Literals literals;
+
+    private static final class Literals {
+        final MessageTemplate template;
+        final Text[] parts;
+
+        Literals(MessageTemplate template) {
+            this.template = template;
+            this.parts = new Text[template.getFieldCount() + 1];
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = Text.literal(template.getLiteral(i)).formatted(Formatting.GRAY);
+            }
+        }
+    }
 
     public InGameNotification() {
         this.client = MinecraftClient.getInstance();
@@ -33,28 +65,7 @@ public class InGameNotification extends NotificationService {
 
         // Send text notification if enabled
         if (PokeAlertClient.getInstance().config.inGameTextEnabled) {
-            // Get rarity info from shared scraper (uses cached value from PokemonSpawnData)
-            RarityScraper.RarityInfo rarity = data.getRarityInfo();
-            
-            // Handle shiny prefix
-            String rarityText = data.isShiny() ? "Shiny " + rarity.getName() : rarity.getName();
-            Formatting rarityColor = data.isShiny() ? Formatting.LIGHT_PURPLE : rarity.getColor();
-            
-            // Determine article (A or An)
-            String article = getArticle(rarityText);
-            
-            // Build the message: [PokeAlert] A/An <Rarity> <PokemonName> spawned near you!
-            Text message = Text.literal("[").formatted(Formatting.GRAY)
-                .append(Text.literal("PokeAlert").formatted(Formatting.RED))
-                .append(Text.literal("] ").formatted(Formatting.GRAY))
-                .append(Text.literal(article + " ").formatted(Formatting.GRAY))
-                .append(Text.literal(rarityText).formatted(rarityColor))
-                .append(Text.literal(" "))
-                .append(Text.literal(data.getPokemonName()).formatted(Formatting.WHITE))
-                .append(Text.literal(" spawned near you!").formatted(Formatting.GRAY));
-
-            // Send chat message
-            player.sendMessage(message, false);
+            player.sendMessage(formatMessage(data), false);
         }
 
         // Play notification sound if enabled
@@ -69,6 +80,50 @@ public class InGameNotification extends NotificationService {
         }
     }
     
+    /**
+     * Build the chat line from the configured template, e.g.
+     * [PokéAlert] A/An <Rarity> <PokemonName> spawned near you!
+     */
+    private Text formatMessage(PokemonSpawnData data) {
+        String source = PokeAlertClient.getInstance().config.inGameAlertTemplate;
+        MessageTemplate compiled = template.get(source != null ? source : PokeAlertConfig.DEFAULT_IN_GAME_ALERT_TEMPLATE);
+        Literals current = literals;
+        if (current == null || current.template != compiled) {
+            // Literal parts become gray components once per template, not per message
+            current = new Literals(compiled);
+            literals = current;
+        }
+        Text[] parts = current.parts;
+
+        // Get rarity info from shared scraper (uses cached value from PokemonSpawnData)
+        RarityScraper.RarityInfo rarity = data.getRarityInfo();
+
+        // Handle shiny prefix
+        String rarityText = data.isShiny() ? "Shiny " + rarity.getName() : rarity.getName();
+        Formatting rarityColor = data.isShiny() ? Formatting.LIGHT_PURPLE : rarity.getColor();
+
+        MutableText message = ChatPrefix.prefixed();
+        for (int i = 0; i < compiled.getFieldCount(); i++) {
+            if (!compiled.getLiteral(i).isEmpty()) {
+                message.append(parts[i]);
+            }
+            message.append(switch (compiled.getField(i)) {
+                case FIELD_ARTICLE -> Text.literal(getArticle(rarityText)).formatted(Formatting.GRAY);
+                case FIELD_RARITY -> Text.literal(rarityText).formatted(rarityColor);
+                case FIELD_POKEMON -> Text.literal(data.getPokemonName()).formatted(Formatting.WHITE);
+                case FIELD_X -> Text.literal(String.valueOf(data.getX())).formatted(Formatting.GRAY);
+                case FIELD_Y -> Text.literal(String.valueOf(data.getY())).formatted(Formatting.GRAY);
+                case FIELD_Z -> Text.literal(String.valueOf(data.getZ())).formatted(Formatting.GRAY);
+                case FIELD_WORLD -> Text.literal(data.getWorldName()).formatted(Formatting.GRAY);
+                default -> Text.empty();
+            });
+        }
+        if (!compiled.getLiteral(compiled.getFieldCount()).isEmpty()) {
+            message.append(parts[compiled.getFieldCount()]);
+        }
+        return message;
+    }
+
     /**
      * Returns "A" or "An" based on the first letter of the word
      */
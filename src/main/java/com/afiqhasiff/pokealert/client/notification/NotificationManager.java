@@ -1,26 +1,39 @@
 package com.afiqhasiff.pokealert.client.notification;
 
 import com.afiqhasiff.pokealert.client.PokeAlertClient;
+import com.afiqhasiff.pokealert.client.config.ConfigManager;
+import net.minecraft.client.MinecraftClient;
 
+import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Manages multiple notification services and coordinates sending notifications.
  * Handles rate limiting and prevents duplicate notifications.
+ * Called from the spawn pipeline thread; in-game notifications are handed back
+ * to the client thread since they touch chat and sound, every other service gets
+ * its own bounded {@link ServiceDispatcher}, backed by a shared durable outbox.
  */
 public class NotificationManager {
+    // Queued notifications per network service before the oldest are dropped
+    private static final int DISPATCH_QUEUE_CAPACITY = 64;
+
     private final List<NotificationService> services;
+    private final Map<NotificationService, ServiceDispatcher> dispatchers = new ConcurrentHashMap<>();
+    private final NotificationOutbox outbox;
     private final Map<String, Long> notificationCooldowns;
     private final long cooldownMillis;
 
     public NotificationManager(long cooldownMillis) {
-        this.services = new ArrayList<>();
-        this.notificationCooldowns = new HashMap<>();
+        this.services = new CopyOnWriteArrayList<>();
+        this.notificationCooldowns = new ConcurrentHashMap<>();
         this.cooldownMillis = cooldownMillis;
+        this.outbox = new NotificationOutbox(new File(ConfigManager.getConfigDir(), "pokealert-outbox.dat"));
+        this.outbox.load();
     }
 
     /**
@@ -29,9 +42,20 @@ public class NotificationManager {
     public void registerService(NotificationService service) {
         services.add(service);
         service.initialize();
+        if (!(service instanceof InGameNotification)) {
+            dispatchers.put(service, new ServiceDispatcher(service, outbox, DISPATCH_QUEUE_CAPACITY));
+        }
         PokeAlertClient.LOGGER.info("Registered notification service: {}", service.getServiceName());
     }
 
+    /**
+     * Call after the last {@link #registerService}: recovered notifications for sinks
+     * that weren't registered can never be delivered, so they are dropped from the outbox
+     */
+    public void finishRegistration() {
+        outbox.dropUnclaimed();
+    }
+
     /**
      * Send notification to all enabled services
      */
@@ -59,20 +83,13 @@ public class NotificationManager {
             if (service.isEnabled()) {
                 try {
                     if (service instanceof InGameNotification) {
-                        service.sendNotification(data);
+                        // A chat line can't be edited later, so it waits for the rarity lookup
+                        // (bounded by its timeout); chat and sound must run on the client thread
+                        data.resolveRarity().whenComplete((rarity, error) ->
+                            MinecraftClient.getInstance().execute(() -> service.sendNotification(data)));
                     } else {
-                        // Run async for network operations
-                        CompletableFuture.runAsync(() -> {
-                            try {
-                                service.sendNotification(data);
-                            } catch (Exception e) {
-                                PokeAlertClient.LOGGER.error(
-                                    "Error sending notification via {}: {}",
-                                    service.getServiceName(),
-                                    e.getMessage()
-                                );
-                            }
-                        });
+                        // Network services deliver from their own dispatcher thread
+                        dispatchers.get(service).submit(data);
                     }
                 } catch (Exception e) {
                     PokeAlertClient.LOGGER.error(
@@ -106,6 +123,11 @@ public class NotificationManager {
      * Shutdown all services
      */
     public void shutdown() {
+        for (ServiceDispatcher dispatcher : dispatchers.values()) {
+            dispatcher.shutdown();
+        }
+        dispatchers.clear();
+        outbox.close();
         for (NotificationService service : services) {
             try {
                 service.shutdown();
@@ -127,5 +149,16 @@ public class NotificationManager {
     public List<NotificationService> getServices() {
         return new ArrayList<>(services);
     }
+
+    /**
+     * Get the dispatchers of the network services, for queue statistics
+     */
+    public List<ServiceDispatcher> getDispatchers() {
+        return new ArrayList<>(dispatchers.values());
+    }
+
+    public NotificationOutbox getOutbox() {
+        return outbox;
+    }
 }
 
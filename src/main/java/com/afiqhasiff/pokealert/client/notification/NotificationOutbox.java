@@ -0,0 +1,414 @@
+package com.afiqhasiff.pokealert.client.notification;
+
+import com.afiqhasiff.pokealert.client.PokeAlertClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable journal of notifications that haven't been delivered yet.
+ * Each notification is appended (per sink) before it is sent and marked done once
+ * the sink has it, so alerts survive network outages and restarts: whatever is
+ * still pending on startup is replayed.
+ * Writes are group-committed: callers only hand their record to a writer thread,
+ * which appends everything queued since its last pass in one write and one fsync.
+ * A burst of alerts therefore costs a single fsync, and the send path only waits
+ * for durability if the sync hasn't already happened by the time it gets there.
+ * The file is truncated whenever nothing is pending.
+ * File location: config/pokealert-outbox.dat
+ */
+public class NotificationOutbox {
+    private static final int MAGIC = 0x504B4F42; // "PKOB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final byte RECORD_ADD = 1;
+    private static final byte RECORD_DONE = 2;
+    // How long a sender waits for its record to be synced before sending anyway
+    private static final long DURABLE_WAIT_MILLIS = 1000;
+
+    /**
+     * A notification recovered from the journal
+     */
+    public static class Pending {
+        private final long id;
+        private final String sink;
+        private final PokemonSpawnData data;
+
+        Pending(long id, String sink, PokemonSpawnData data) {
+            this.id = id;
+            this.sink = sink;
+            this.data = data;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getSink() {
+            return sink;
+        }
+
+        public PokemonSpawnData getData() {
+            return data;
+        }
+    }
+
+    private final File file;
+    private volatile FileChannel channel;
+    private volatile boolean closed;
+
+    private final AtomicLong nextId = new AtomicLong(1);
+    // Ids appended but not yet marked done
+    private final Set<Long> live = ConcurrentHashMap.newKeySet();
+    // Recovered on load, handed out once per sink by takeRecovered
+    private final Map<Long, Pending> recovered = new LinkedHashMap<>();
+
+    // Group commit state, guarded by lock; file writes are guarded by fileLock
+    private final Object lock = new Object();
+    private final Object fileLock = new Object();
+    private List<byte[]> batch = new ArrayList<>();
+    private long queuedThrough = 0;
+    private long durableThrough = 0;
+    private Thread writer;
+
+    private final AtomicLong syncs = new AtomicLong();
+
+    public NotificationOutbox(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Open the journal, recover pending notifications and start the writer thread
+     */
+    public void load() {
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            recover();
+            if (recovered.isEmpty()) {
+                truncate();
+            } else {
+                PokeAlertClient.LOGGER.info("Recovered {} undelivered notifications from {}", recovered.size(), file.getName());
+            }
+        } catch (IOException e) {
+            PokeAlertClient.LOGGER.error("Failed to open notification outbox, continuing without it", e);
+            closeQuietly();
+            return;
+        }
+
+        writer = new Thread(this::writeLoop, "PokeAlert-Outbox");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Journal a notification for a sink. Never blocks on I/O.
+     * @return the entry id, to pass to {@link #awaitDurable} and {@link #markDone}; 0 if the outbox is unavailable
+     */
+    public long append(String sink, PokemonSpawnData data) {
+        if (channel == null) {
+            return 0;
+        }
+        byte[] record;
+        try {
+            record = encodeAdd(0, sink, data);
+        } catch (IOException e) {
+            return 0;
+        }
+        synchronized (lock) {
+            // Ids are assigned under the lock so they reach the file in increasing order
+            long id = nextId.getAndIncrement();
+            ByteBuffer.wrap(record, 1, 8).putLong(id);
+            batch.add(record);
+            queuedThrough = id;
+            live.add(id);
+            lock.notifyAll();
+            return id;
+        }
+    }
+
+    /**
+     * Wait (briefly) until an appended entry has been synced to disk
+     */
+    public void awaitDurable(long id) throws InterruptedException {
+        if (id == 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURABLE_WAIT_MILLIS);
+        synchronized (lock) {
+            while (durableThrough < id && channel != null) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return;
+                }
+                lock.wait(remaining);
+            }
+        }
+    }
+
+    /**
+     * Mark an entry delivered (or abandoned). Not synced eagerly: losing a done
+     * marker in a crash only means the alert may be sent twice.
+     */
+    public void markDone(long id) {
+        if (id == 0 || channel == null || !live.remove(id)) {
+            return;
+        }
+        byte[] record = new byte[9];
+        ByteBuffer.wrap(record).put(RECORD_DONE).putLong(id);
+        synchronized (lock) {
+            batch.add(record);
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Take the recovered entries for one sink (each is handed out once)
+     */
+    public synchronized List<Pending> takeRecovered(String sink) {
+        List<Pending> forSink = new ArrayList<>();
+        recovered.values().removeIf(pending -> {
+            if (pending.getSink().equals(sink)) {
+                forSink.add(pending);
+                return true;
+            }
+            return false;
+        });
+        return forSink;
+    }
+
+    /**
+     * Drop the recovered entries no sink has taken, e.g. for a sink that no longer
+     * exists. Call once all dispatchers have registered; otherwise those entries would
+     * stay pending forever and the journal would never be truncated.
+     * @return the number of entries dropped
+     */
+    public int dropUnclaimed() {
+        List<Pending> unclaimed;
+        synchronized (this) {
+            unclaimed = new ArrayList<>(recovered.values());
+            recovered.clear();
+        }
+        for (Pending pending : unclaimed) {
+            markDone(pending.getId());
+        }
+        if (!unclaimed.isEmpty()) {
+            PokeAlertClient.LOGGER.info("Dropped {} recovered notifications for sinks that are no longer registered", unclaimed.size());
+        }
+        return unclaimed.size();
+    }
+
+    public int getPendingCount() {
+        return live.size();
+    }
+
+    public long getSyncCount() {
+        return syncs.get();
+    }
+
+    /**
+     * Write out whatever is still queued and close the journal
+     */
+    public void close() {
+        // Not interrupted: an interrupt during a write would close the channel under it
+        closed = true;
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        if (writer != null) {
+            try {
+                writer.join(DURABLE_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        synchronized (fileLock) {
+            closeQuietly();
+        }
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    private void writeLoop() {
+        while (!closed) {
+            synchronized (lock) {
+                while (batch.isEmpty() && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+            flush();
+        }
+    }
+
+    /**
+     * Write everything queued since the last pass with one write and one fsync.
+     * The group commit lock is only held to swap the batch out, so appends never
+     * wait for the disk; they simply go into the next pass.
+     */
+    private void flush() {
+        List<byte[]> writing;
+        long through;
+        synchronized (lock) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            writing = batch;
+            through = queuedThrough;
+            batch = new ArrayList<>();
+        }
+
+        synchronized (fileLock) {
+            write(writing);
+        }
+
+        synchronized (lock) {
+            // Even after a failed write, don't leave senders waiting; they send without durability
+            durableThrough = Math.max(durableThrough, through);
+            lock.notifyAll();
+        }
+    }
+
+    private void write(List<byte[]> writing) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (live.isEmpty()) {
+                // Nothing pending any more: start the journal over instead of growing it
+                truncate();
+            } else {
+                int length = 0;
+                for (byte[] record : writing) {
+                    length += record.length;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(length);
+                for (byte[] record : writing) {
+                    buffer.put(record);
+                }
+                buffer.flip();
+                channel.position(channel.size());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            syncs.incrementAndGet();
+        } catch (IOException e) {
+            PokeAlertClient.LOGGER.error("Failed to write notification outbox: {}", e.getMessage());
+        }
+    }
+
+    private void truncate() throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+        header.flip();
+        channel.write(header, 0);
+        channel.force(false);
+    }
+
+    /**
+     * Replay the journal into the recovered set; a truncated trailing record is cut off
+     */
+    private void recover() throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        if (bytes.length < HEADER_SIZE) {
+            return;
+        }
+        ByteArrayInputStream stream = new ByteArrayInputStream(bytes);
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            PokeAlertClient.LOGGER.warn("Unrecognized notification outbox format, starting fresh");
+            return;
+        }
+
+        long maxId = 0;
+        long validLength = HEADER_SIZE;
+        Map<Long, Pending> pending = new LinkedHashMap<>();
+        try {
+            while (stream.available() > 0) {
+                byte type = in.readByte();
+                long id = in.readLong();
+                if (type == RECORD_ADD) {
+                    String sink = in.readUTF();
+                    pending.put(id, new Pending(id, sink, decodeData(in)));
+                } else if (type == RECORD_DONE) {
+                    pending.remove(id);
+                } else {
+                    throw new IOException("unknown record type " + type);
+                }
+                maxId = Math.max(maxId, id);
+                validLength = bytes.length - stream.available();
+            }
+        } catch (IOException e) {
+            // EOF or garbage from a write interrupted by a crash
+            PokeAlertClient.LOGGER.warn("Discarding truncated record at the end of {}", file.getName());
+            channel.truncate(validLength);
+        }
+
+        nextId.set(maxId + 1);
+        recovered.putAll(pending);
+        live.addAll(pending.keySet());
+    }
+
+    private static byte[] encodeAdd(long id, String sink, PokemonSpawnData data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(RECORD_ADD);
+            out.writeLong(id);
+            out.writeUTF(sink);
+            out.writeInt(data.getSpeciesId());
+            out.writeUTF(data.getPokemonName());
+            out.writeBoolean(data.isShiny());
+            out.writeInt(data.getX());
+            out.writeInt(data.getY());
+            out.writeInt(data.getZ());
+            out.writeUTF(data.getWorldName());
+            out.writeLong(data.getTimestamp());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static PokemonSpawnData decodeData(DataInputStream in) throws IOException {
+        int speciesId = in.readInt();
+        String name = in.readUTF();
+        boolean shiny = in.readBoolean();
+        int x = in.readInt();
+        int y = in.readInt();
+        int z = in.readInt();
+        String world = in.readUTF();
+        long timestamp = in.readLong();
+        return new PokemonSpawnData(speciesId, name, shiny, x, y, z, world, timestamp);
+    }
+
+    private void closeQuietly() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Nothing useful to do
+            }
+            channel = null;
+        }
+    }
+}
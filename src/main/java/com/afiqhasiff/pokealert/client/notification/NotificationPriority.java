@@ -0,0 +1,38 @@
+package com.afiqhasiff.pokealert.client.notification;
+
+import com.afiqhasiff.pokealert.client.util.SpeciesCatalog;
+
+import java.util.Locale;
+
+/**
+ * Dispatch lane of a notification. Higher lanes are delivered first, lower lanes
+ * are dropped first when a queue overflows, and only {@link #HIGH} may use the
+ * share of a rate limit reserved for it.
+ */
+public enum NotificationPriority {
+    // Declared highest first; dispatchers drain lanes in this order
+    HIGH,
+    NORMAL,
+    LOW;
+
+    private static final int HIGH_CATEGORIES =
+        SpeciesCatalog.LEGENDARY | SpeciesCatalog.MYTHICAL | SpeciesCatalog.ULTRA_BEAST | SpeciesCatalog.PARADOX;
+    private static final int LOW_CATEGORIES = SpeciesCatalog.STARTER | SpeciesCatalog.BABY;
+
+    /**
+     * Shinies, legendary-class species and ultra-rare spawns are high priority;
+     * starters, babies and common spawns are low; everything else is normal
+     */
+    public static NotificationPriority of(PokemonSpawnData data) {
+        int categories = data.getSpecies().getCategories();
+        String rarity = data.getRarityText().toLowerCase(Locale.ROOT);
+        if (data.isShiny() || (categories & HIGH_CATEGORIES) != 0
+            || rarity.equals("ultra rare") || rarity.equals("legendary") || rarity.equals("mythical")) {
+            return HIGH;
+        }
+        if ((categories & LOW_CATEGORIES) != 0 || rarity.equals("common") || rarity.equals("uncommon")) {
+            return LOW;
+        }
+        return NORMAL;
+    }
+}
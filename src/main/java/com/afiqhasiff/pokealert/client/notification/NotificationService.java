@@ -1,5 +1,7 @@
 package com.afiqhasiff.pokealert.client.notification;
 
+import java.util.List;
+
 /**
  * Abstract base class for notification services.
  * Implementations can provide different ways to notify users of Pokemon spawns.
@@ -11,6 +13,40 @@ public abstract class NotificationService {
      * @param data The Pokemon spawn data to notify about
      */
     public abstract void sendNotification(PokemonSpawnData data);
+
+    /**
+     * Send a notification and report whether it reached its destination.
+     * Services that can fail transiently (e.g. over the network) override this;
+     * a false result keeps the notification in the outbox to be retried.
+     * @param data The Pokemon spawn data to notify about
+     * @return true if delivered (or if retrying can't help), false to retry later
+     */
+    public boolean deliver(PokemonSpawnData data) {
+        sendNotification(data);
+        return true;
+    }
+
+    /**
+     * Send a burst of notifications at once, e.g. as a single digest message.
+     * Only called for services with a coalescing window.
+     * @param batch The notifications, at least one
+     * @return true if all were delivered, false to retry them all later
+     */
+    public boolean deliverAll(List<PokemonSpawnData> batch) {
+        boolean delivered = true;
+        for (PokemonSpawnData data : batch) {
+            delivered &= deliver(data);
+        }
+        return delivered;
+    }
+
+    /**
+     * How long (in milliseconds) notifications following a delivery are gathered into
+     * one {@link #deliverAll} call. 0, the default, delivers every notification on its own.
+     */
+    public long getCoalesceWindowMillis() {
+        return 0;
+    }
     
     /**
      * Check if this notification service is enabled and ready to send notifications
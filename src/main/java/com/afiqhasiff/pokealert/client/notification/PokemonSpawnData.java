@@ -1,13 +1,16 @@
 package com.afiqhasiff.pokealert.client.notification;
 
 import com.afiqhasiff.pokealert.client.util.RarityScraper;
-import net.minecraft.entity.Entity;
+import com.afiqhasiff.pokealert.client.util.SpeciesCatalog;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data object containing information about a detected Pokemon spawn.
  * This is passed to notification services to format and send notifications.
  */
 public class PokemonSpawnData {
+    private final int speciesId;
     private final String pokemonName;
     private final boolean isShiny;
     private final int x;
@@ -15,30 +18,37 @@ public class PokemonSpawnData {
     private final int z;
     private final String worldName;
     private final long timestamp;
-    private RarityScraper.RarityInfo rarityInfo;
+    private volatile RarityScraper.RarityInfo rarityInfo;
+    private volatile CompletableFuture<RarityScraper.RarityInfo> rarityLookup;
+    private volatile SpeciesCatalog.Entry species;
+    private volatile NotificationPriority priority;
+
+    public PokemonSpawnData(int speciesId, String pokemonName, boolean isShiny, int x, int y, int z, String worldName) {
+        this(speciesId, pokemonName, isShiny, x, y, z, worldName, System.currentTimeMillis());
+    }
 
-    public PokemonSpawnData(String pokemonName, boolean isShiny, int x, int y, int z, String worldName) {
+    /**
+     * @param timestamp When the spawn was detected (kept when replayed from the outbox)
+     */
+    public PokemonSpawnData(int speciesId, String pokemonName, boolean isShiny, int x, int y, int z, String worldName, long timestamp) {
+        this.speciesId = speciesId;
         this.pokemonName = pokemonName;
         this.isShiny = isShiny;
         this.x = x;
         this.y = y;
         this.z = z;
         this.worldName = worldName;
-        this.timestamp = System.currentTimeMillis();
+        this.timestamp = timestamp;
     }
 
-    public static PokemonSpawnData fromEntity(Entity entity, String pokemonName, boolean isShiny, String worldName) {
-        return new PokemonSpawnData(
-            pokemonName,
-            isShiny,
-            (int) entity.getX(),
-            (int) entity.getY(),
-            (int) entity.getZ(),
-            worldName
-        );
+    // Getters
+    /**
+     * National Pokedex number of the species
+     */
+    public int getSpeciesId() {
+        return speciesId;
     }
 
-    // Getters
     public String getPokemonName() {
         return pokemonName;
     }
@@ -75,15 +85,44 @@ public class PokemonSpawnData {
         return String.format("X: %d, Y: %d, Z: %d", x, y, z);
     }
     
+    /**
+     * Resolve the rarity info for this Pokemon without blocking.
+     * The lookup is started once and shared by every caller; the result is kept so later lookups are free.
+     */
+    public CompletableFuture<RarityScraper.RarityInfo> resolveRarity() {
+        CompletableFuture<RarityScraper.RarityInfo> lookup = rarityLookup;
+        if (lookup == null) {
+            synchronized (this) {
+                lookup = rarityLookup;
+                if (lookup == null) {
+                    RarityScraper.RarityInfo resolved = rarityInfo;
+                    lookup = resolved != null
+                        ? CompletableFuture.completedFuture(resolved)
+                        : RarityScraper.resolveRarity(pokemonName).thenApply(info -> {
+                            rarityInfo = info;
+                            return info;
+                        });
+                    rarityLookup = lookup;
+                }
+            }
+        }
+        return lookup;
+    }
+
+    /**
+     * Whether {@link #resolveRarity} has completed, i.e. {@link #getRarityInfo} is final
+     */
+    public boolean isRarityResolved() {
+        return rarityInfo != null;
+    }
+    
     /**
      * Get the rarity info for this Pokemon.
-     * Caches the result after first scrape.
+     * Never blocks: if it hasn't been resolved yet, the stored or predefined-list rarity is used.
      */
     public RarityScraper.RarityInfo getRarityInfo() {
-        if (rarityInfo == null) {
-            rarityInfo = RarityScraper.getPokemonRarity(pokemonName);
-        }
-        return rarityInfo;
+        RarityScraper.RarityInfo resolved = rarityInfo;
+        return resolved != null ? resolved : RarityScraper.getKnownRarity(getSpecies());
     }
     
     /**
@@ -97,7 +136,33 @@ public class PokemonSpawnData {
      * Get the Bulbapedia URL for this Pokemon
      */
     public String getBulbapediaUrl() {
-        return RarityScraper.generateBulbapediaUrl(pokemonName);
+        return getSpecies().getBulbapediaUrl();
+    }
+    
+    /**
+     * The catalog entry for this Pokemon's species
+     */
+    public SpeciesCatalog.Entry getSpecies() {
+        SpeciesCatalog.Entry entry = species;
+        if (entry == null) {
+            entry = SpeciesCatalog.lookup(speciesId, pokemonName);
+            species = entry;
+        }
+        return entry;
+    }
+
+    /**
+     * Dispatch priority, derived from shininess, category bits and rarity.
+     * Fixed on first use, which is when the pipeline dispatches the spawn, so it is based
+     * on the rarity known locally (bundled, spawn pool or stored) rather than a live lookup.
+     */
+    public NotificationPriority getPriority() {
+        NotificationPriority resolved = priority;
+        if (resolved == null) {
+            resolved = NotificationPriority.of(this);
+            priority = resolved;
+        }
+        return resolved;
     }
 
     @Override
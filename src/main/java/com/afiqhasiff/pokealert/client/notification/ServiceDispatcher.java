@@ -0,0 +1,433 @@
+package com.afiqhasiff.pokealert.client.notification;
+
+import com.afiqhasiff.pokealert.client.PokeAlertClient;
+import com.afiqhasiff.pokealert.client.util.CircuitBreaker;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers notifications to one {@link NotificationService} from its own thread.
+ * Producers (the spawn pipeline and rarity lookups completing) only offer to a
+ * bounded queue; a single dispatcher thread drains it, so a slow sink can't hold up
+ * detection or other sinks.
+ * The queue is split into {@link NotificationPriority} lanes: the dispatcher always
+ * takes from the highest non-empty lane (in order within a lane). Notifications waiting
+ * to be retried count against the same capacity; when it is full the lowest-priority
+ * notification, the oldest among equals, is dropped - whether it is queued, waiting to
+ * retry, or the one coming in.
+ * Every notification is journaled in the {@link NotificationOutbox} until the sink
+ * reports it delivered. Failed deliveries are retried with jittered exponential
+ * backoff, and a per-sink circuit breaker stops hammering a sink that keeps failing.
+ * Sinks with a coalescing window get bursts in one {@link NotificationService#deliverAll}
+ * call: an alert arriving within the window after a delivery opens a batch that collects
+ * everything else arriving in the window. The batch is sent as soon as the burst pauses
+ * for a short gap, so a lone alert is never held for the whole window, and
+ * high-priority alerts skip the batch.
+ */
+public class ServiceDispatcher {
+    private static final NotificationPriority[] LANES = NotificationPriority.values();
+
+    // Retry backoff: 2s, 4s, 8s ... capped at 5 minutes, each randomized down to half
+    private static final long RETRY_BASE_MILLIS = 2000;
+    private static final long RETRY_MAX_MILLIS = 5 * 60 * 1000;
+    // Alerts older than this are stale (the Pokemon has likely despawned) and abandoned
+    private static final long MAX_AGE_MILLIS = 60 * 60 * 1000;
+    // Most notifications gathered into one batch (keeps a digest within Telegram's message size)
+    private static final int MAX_BATCH_SIZE = 20;
+    // A batch is sent once nothing more arrives for this long, even if its window is still open
+    private static final long BATCH_GAP_MILLIS = 300;
+
+    private final NotificationService service;
+    private final NotificationOutbox outbox;
+    private final CircuitBreaker breaker;
+    private final int capacity;
+    private final Thread thread;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    // One FIFO per lane, indexed by ordinal, plus failed deliveries waiting to retry; guarded by lock
+    private final ArrayDeque<Queued>[] lanes;
+    private final PriorityQueue<Queued> retries = new PriorityQueue<>(Comparator.comparingLong(queued -> queued.notBefore));
+    // Queued plus retrying notifications, bounded by capacity
+    private int size = 0;
+    // When the last delivery was attempted; only touched by the dispatcher thread
+    private long lastDeliveryAt = 0;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    // Per lane: notifications delivered, total and max wait from submit to delivery
+    private final AtomicLongArray laneSent = new AtomicLongArray(LANES.length);
+    private final AtomicLongArray laneWaitMillis = new AtomicLongArray(LANES.length);
+    private final AtomicLongArray laneMaxWaitMillis = new AtomicLongArray(LANES.length);
+
+    private static final class Queued {
+        final PokemonSpawnData data;
+        final long outboxId;
+        final long submittedAt;
+        int attempts;
+        long notBefore;
+
+        Queued(PokemonSpawnData data, long outboxId, long submittedAt) {
+            this.data = data;
+            this.outboxId = outboxId;
+            this.submittedAt = submittedAt;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public ServiceDispatcher(NotificationService service, NotificationOutbox outbox, int capacity) {
+        this.service = service;
+        this.outbox = outbox;
+        this.breaker = new CircuitBreaker(service.getServiceName(), 3, 30_000);
+        this.capacity = capacity;
+        this.lanes = new ArrayDeque[LANES.length];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+
+        // Anything left undelivered by the previous session goes first
+        for (NotificationOutbox.Pending pending : outbox.takeRecovered(service.getServiceName())) {
+            enqueue(new Queued(pending.getData(), pending.getId(), System.currentTimeMillis()));
+        }
+
+        this.thread = new Thread(this::run, "PokeAlert-" + service.getServiceName().replace(' ', '-'));
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Journal a notification and queue it for delivery in its priority lane. Never blocks.
+     */
+    public void submit(PokemonSpawnData data) {
+        enqueued.incrementAndGet();
+        enqueue(new Queued(data, outbox.append(service.getServiceName(), data), System.currentTimeMillis()));
+    }
+
+    private void enqueue(Queued queued) {
+        Queued droppedEntry = null;
+
+        lock.lock();
+        try {
+            if (size >= capacity) {
+                droppedEntry = evict(queued);
+            }
+            if (droppedEntry != queued) {
+                lanes[queued.data.getPriority().ordinal()].addLast(queued);
+                size++;
+                changed.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (droppedEntry != null) {
+            recordDrop(droppedEntry);
+        }
+    }
+
+    /**
+     * Make room for an incoming notification by removing the lowest-priority one,
+     * the oldest among equals, from the lanes or the retries. Must hold the lock.
+     * @return the removed notification, or the incoming one if everything held outranks it
+     */
+    private Queued evict(Queued incoming) {
+        Queued victim = incoming;
+        boolean fromLane = false;
+        Queued head = lanes[lowestNonEmptyLane()].peekFirst();
+        if (head != null && dropsBefore(head, victim)) {
+            victim = head;
+            fromLane = true;
+        }
+        for (Queued retry : retries) {
+            if (dropsBefore(retry, victim)) {
+                victim = retry;
+                fromLane = false;
+            }
+        }
+
+        if (victim != incoming) {
+            if (fromLane) {
+                lanes[victim.data.getPriority().ordinal()].pollFirst();
+            } else {
+                retries.remove(victim);
+            }
+            size--;
+        }
+        return victim;
+    }
+
+    private int lowestNonEmptyLane() {
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            if (!lanes[i].isEmpty()) {
+                return i;
+            }
+        }
+        return lanes.length - 1;
+    }
+
+    private static boolean dropsBefore(Queued candidate, Queued victim) {
+        int candidateLane = candidate.data.getPriority().ordinal();
+        int victimLane = victim.data.getPriority().ordinal();
+        return candidateLane > victimLane || (candidateLane == victimLane && candidate.submittedAt < victim.submittedAt);
+    }
+
+    private void recordDrop(Queued droppedEntry) {
+        dropped.incrementAndGet();
+        outbox.markDone(droppedEntry.outboxId);
+        PokeAlertClient.LOGGER.warn("{} queue full, dropped notification for {}",
+            service.getServiceName(), droppedEntry.data.getPokemonName());
+    }
+
+    /**
+     * Wait for the next notification: the head of the highest lane, once any retries
+     * that have come due are back in their lanes
+     * @param deadline Give up at this time (epoch millis) and return null; Long.MAX_VALUE waits indefinitely
+     */
+    private Queued take(long deadline) throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                long now = System.currentTimeMillis();
+                while (!retries.isEmpty() && retries.peek().notBefore <= now) {
+                    Queued due = retries.poll();
+                    // Retries go ahead of newer alerts in their lane (already counted in size)
+                    lanes[due.data.getPriority().ordinal()].addFirst(due);
+                }
+                for (ArrayDeque<Queued> lane : lanes) {
+                    Queued next = lane.pollFirst();
+                    if (next != null) {
+                        size--;
+                        return next;
+                    }
+                }
+                long wakeAt = retries.isEmpty() ? deadline : Math.min(deadline, retries.peek().notBefore);
+                if (now >= deadline) {
+                    return null;
+                } else if (wakeAt == Long.MAX_VALUE) {
+                    changed.await();
+                } else {
+                    changed.await(wakeAt - now, TimeUnit.MILLISECONDS);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Queued next = take(Long.MAX_VALUE);
+                long window = service.getCoalesceWindowMillis();
+                if (window > 0 && next.data.getPriority() != NotificationPriority.HIGH
+                    && System.currentTimeMillis() - lastDeliveryAt < window) {
+                    deliver(gather(next, window));
+                } else {
+                    deliver(List.of(next));
+                }
+            }
+        } catch (InterruptedException e) {
+            // Shutting down; undelivered notifications stay in the outbox
+        }
+    }
+
+    /**
+     * Collect whatever else arrives within the window into one batch, stopping early
+     * when the burst pauses for {@link #BATCH_GAP_MILLIS}.
+     * High-priority notifications arriving meanwhile are delivered on their own right away.
+     */
+    private List<Queued> gather(Queued first, long window) throws InterruptedException {
+        List<Queued> batch = new ArrayList<>();
+        batch.add(first);
+        long closesAt = System.currentTimeMillis() + window;
+        while (batch.size() < MAX_BATCH_SIZE) {
+            Queued more = take(Math.min(closesAt, System.currentTimeMillis() + BATCH_GAP_MILLIS));
+            if (more == null) {
+                break;
+            }
+            if (more.data.getPriority() == NotificationPriority.HIGH) {
+                deliver(List.of(more));
+            } else {
+                batch.add(more);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Hand one notification, or a batch of them, to the sink and settle the outcome
+     */
+    private void deliver(List<Queued> batch) throws InterruptedException {
+        List<Queued> live = new ArrayList<>(batch.size());
+        for (Queued queued : batch) {
+            outbox.awaitDurable(queued.outboxId);
+            if (System.currentTimeMillis() - queued.data.getTimestamp() > MAX_AGE_MILLIS) {
+                PokeAlertClient.LOGGER.warn("Abandoning stale {} notification for {}", service.getServiceName(), queued.data.getPokemonName());
+                failed.incrementAndGet();
+                outbox.markDone(queued.outboxId);
+            } else {
+                live.add(queued);
+            }
+        }
+        if (live.isEmpty()) {
+            return;
+        }
+        if (!breaker.tryAcquire()) {
+            live.forEach(this::scheduleRetry);
+            return;
+        }
+
+        List<PokemonSpawnData> data = new ArrayList<>(live.size());
+        for (Queued queued : live) {
+            data.add(queued.data);
+        }
+        boolean delivered;
+        try {
+            delivered = data.size() == 1 ? service.deliver(data.get(0)) : service.deliverAll(data);
+        } catch (Exception e) {
+            PokeAlertClient.LOGGER.error("Error sending notification via {}: {}", service.getServiceName(), e.getMessage());
+            delivered = false;
+        }
+        lastDeliveryAt = System.currentTimeMillis();
+
+        if (delivered) {
+            breaker.recordSuccess();
+            for (Queued queued : live) {
+                outbox.markDone(queued.outboxId);
+                sent.incrementAndGet();
+                recordLatency(queued);
+            }
+        } else {
+            breaker.recordFailure();
+            failed.addAndGet(live.size());
+            live.forEach(this::scheduleRetry);
+        }
+    }
+
+    private void scheduleRetry(Queued queued) {
+        queued.attempts++;
+        long backoff = Math.min(RETRY_MAX_MILLIS, RETRY_BASE_MILLIS << Math.min(queued.attempts - 1, 20));
+        queued.notBefore = System.currentTimeMillis() + ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1);
+        retried.incrementAndGet();
+        Queued droppedEntry = null;
+
+        lock.lock();
+        try {
+            // Back in the dispatcher's hands, so it counts against the capacity again
+            if (size >= capacity) {
+                droppedEntry = evict(queued);
+            }
+            if (droppedEntry != queued) {
+                retries.add(queued);
+                size++;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (droppedEntry != null) {
+            recordDrop(droppedEntry);
+        }
+    }
+
+    private void recordLatency(Queued delivered) {
+        int lane = delivered.data.getPriority().ordinal();
+        long wait = System.currentTimeMillis() - delivered.submittedAt;
+        laneSent.incrementAndGet(lane);
+        laneWaitMillis.addAndGet(lane, wait);
+        laneMaxWaitMillis.accumulateAndGet(lane, wait, Math::max);
+    }
+
+    public NotificationService getService() {
+        return service;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return breaker;
+    }
+
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return size - retries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getRetryingCount() {
+        lock.lock();
+        try {
+            return retries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getRetriedCount() {
+        return retried.get();
+    }
+
+    public long getLaneSentCount(NotificationPriority priority) {
+        return laneSent.get(priority.ordinal());
+    }
+
+    /**
+     * Average wait in a lane from submit to delivery, in milliseconds
+     */
+    public long getLaneAverageWaitMillis(NotificationPriority priority) {
+        long count = laneSent.get(priority.ordinal());
+        return count == 0 ? 0 : laneWaitMillis.get(priority.ordinal()) / count;
+    }
+
+    public long getLaneMaxWaitMillis(NotificationPriority priority) {
+        return laneMaxWaitMillis.get(priority.ordinal());
+    }
+
+    /**
+     * Stop the dispatcher thread. Anything still queued stays in the outbox
+     * and is delivered after the next start.
+     */
+    public void shutdown() {
+        thread.interrupt();
+        lock.lock();
+        try {
+            for (ArrayDeque<Queued> lane : lanes) {
+                lane.clear();
+            }
+            retries.clear();
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
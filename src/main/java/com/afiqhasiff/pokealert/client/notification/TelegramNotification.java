@@ -3,14 +3,33 @@ package com.afiqhasiff.pokealert.client.notification;
 import com.afiqhasiff.pokealert.client.PokeAlertClient;
 import com.afiqhasiff.pokealert.client.config.ConfigManager;
 import com.afiqhasiff.pokealert.client.config.TelegramConfig;
+import com.afiqhasiff.pokealert.client.util.HttpTransport;
+import com.afiqhasiff.pokealert.client.util.MessageTemplate;
+import com.afiqhasiff.pokealert.client.util.TokenBucket;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
 import okhttp3.*;
+import okio.Buffer;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Telegram notification service.
@@ -23,20 +42,68 @@ public class TelegramNotification extends NotificationService {
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm")
         .withZone(ZoneId.systemDefault());
 
-    // Rate limiting
-    private int notificationCount = 0;
-    private long lastResetTime = System.currentTimeMillis();
+    // Placeholders of alert and digest templates, indexed by the constants below
+    private static final List<String> ALERT_FIELDS = List.of("pokemon", "url", "rarity", "time", "x", "y", "z", "world");
+    private static final int FIELD_POKEMON = 0;
+    private static final int FIELD_URL = 1;
+    private static final int FIELD_RARITY = 2;
+    private static final int FIELD_TIME = 3;
+    private static final int FIELD_X = 4;
+    private static final int FIELD_Y = 5;
+    private static final int FIELD_Z = 6;
+    private static final int FIELD_WORLD = 7;
+    private static final MessageTemplate.Fields<PokemonSpawnData> ALERT_VALUES = (data, field, out) -> {
+        switch (field) {
+            case FIELD_POKEMON -> out.append(data.isShiny() ? "Shiny " : "").append(data.getPokemonName());
+            case FIELD_URL -> out.append(data.getBulbapediaUrl());
+            case FIELD_RARITY -> out.append(data.getRarityText());
+            case FIELD_TIME -> TIME_FORMATTER.formatTo(Instant.ofEpochMilli(data.getTimestamp()), out);
+            case FIELD_X -> out.append(data.getX());
+            case FIELD_Y -> out.append(data.getY());
+            case FIELD_Z -> out.append(data.getZ());
+            case FIELD_WORLD -> out.append(data.getWorldName());
+            default -> { }
+        }
+    };
+    private static final MessageTemplate.Fields<Integer> COUNT_VALUES = (count, field, out) -> out.append(count.intValue());
+    private static final MessageTemplate.Fields<String[]> EGG_TIMER_VALUES = (values, field, out) -> out.append(values[field]);
+
+    private final MessageTemplate.Cached alertTemplate = new MessageTemplate.Cached(ALERT_FIELDS);
+    private final MessageTemplate.Cached digestHeaderTemplate = new MessageTemplate.Cached(List.of("count"));
+    private final MessageTemplate.Cached digestLineTemplate = new MessageTemplate.Cached(ALERT_FIELDS);
+    private final MessageTemplate.Cached digestFooterTemplate = new MessageTemplate.Cached(ALERT_FIELDS);
+    private final MessageTemplate.Cached eggTimerTemplate = new MessageTemplate.Cached(List.of("duration", "started"));
+
+    // Rate limiting; this share of the per-minute budget is kept for high-priority alerts
+    private static final int HIGH_PRIORITY_RESERVE_DIVISOR = 4;
+    // Attempts per message when Telegram answers 429 Too Many Requests
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 5;
+    private final TokenBucket rateLimiter = new TokenBucket(() -> config.getMaxNotificationsPerMinute());
+
+    // Digest order: rarity names from rarest to most common (matched by substring, first wins)
+    private static final String[] RARITY_ORDER = {
+        "mythical", "legendary", "ultra beast", "paradox", "ultra rare", "rare", "uncommon", "common"
+    };
+    private final AtomicLong digestsSent = new AtomicLong();
+    private final AtomicLong digestedAlerts = new AtomicLong();
+
+    // Results of post(): not delivered (retry later), or delivered without a message to edit
+    private static final long NOT_DELIVERED = -1;
+    private static final long NO_MESSAGE_ID = 0;
+    // Time from detection until Telegram accepted the alert, and follow-up rarity edits
+    private final AtomicLong phoneDeliveries = new AtomicLong();
+    private final AtomicLong timeToPhoneMillis = new AtomicLong();
+    private final AtomicLong maxTimeToPhoneMillis = new AtomicLong();
+    private final AtomicLong edits = new AtomicLong();
+    private final AtomicLong editsSkipped = new AtomicLong();
 
     @Override
     public void initialize() {
         config = ConfigManager.getTelegramConfig();
         
-        // Create HTTP client with reasonable timeouts
-        httpClient = new OkHttpClient.Builder()
-            .connectTimeout(10, TimeUnit.SECONDS)
-            .writeTimeout(10, TimeUnit.SECONDS)
-            .readTimeout(30, TimeUnit.SECONDS)
-            .build();
+        // Shared client: pooled keep-alive connections, warmed on world join
+        httpClient = HttpTransport.client();
 
         if (config.isValid()) {
             PokeAlertClient.LOGGER.info("Telegram notification service initialized");
@@ -47,47 +114,163 @@ public class TelegramNotification extends NotificationService {
 
     @Override
     public void sendNotification(PokemonSpawnData data) {
+        deliver(data);
+    }
+
+    /**
+     * Send a spawn alert, reporting whether Telegram accepted it.
+     * Network errors, server errors and persistent flood control count as not delivered,
+     * so the dispatcher keeps the alert in the outbox and retries it later.
+     * The alert goes out with the rarity known so far; if a lookup is still running,
+     * the message is edited once it completes.
+     */
+    @Override
+    public boolean deliver(PokemonSpawnData data) {
         // Check if Telegram is enabled in PokéAlert config
         if (!PokeAlertClient.getInstance().config.telegramEnabled || !config.isValid()) {
-            return;
+            return true;
         }
 
-        // Check rate limiting
-        if (!checkRateLimit()) {
-            PokeAlertClient.LOGGER.warn("Telegram rate limit exceeded, skipping notification");
-            return;
+        String message = formatMessage(data);
+        long messageId = post(message, data.getPriority());
+        if (messageId == NOT_DELIVERED) {
+            return false;
+        }
+        List<PokemonSpawnData> sent = List.of(data);
+        recordTimeToPhone(sent);
+        updateWhenResolved(messageId, sent, message, () -> formatMessage(data));
+        return true;
+    }
+
+    /**
+     * Send a burst of alerts as one digest message, rarest and closest first.
+     * The digest costs a single token, taken at the priority of its most important alert.
+     */
+    @Override
+    public boolean deliverAll(List<PokemonSpawnData> batch) {
+        if (batch.size() == 1) {
+            return deliver(batch.get(0));
+        }
+        if (!PokeAlertClient.getInstance().config.telegramEnabled || !config.isValid()) {
+            return true;
         }
 
-        // Format message
-        String message = formatMessage(data);
+        List<PokemonSpawnData> sorted = sortForDigest(batch);
+        String message = formatDigest(sorted);
+        long messageId = post(message, sorted.get(0).getPriority());
+        if (messageId == NOT_DELIVERED) {
+            return false;
+        }
+        digestsSent.incrementAndGet();
+        digestedAlerts.addAndGet(batch.size());
+        recordTimeToPhone(batch);
+        updateWhenResolved(messageId, batch, message, () -> formatDigest(sortForDigest(batch)));
+        return true;
+    }
 
-        // Build request
-        String jsonBody = String.format(
-            "{\"chat_id\":\"%s\",\"text\":\"%s\",\"parse_mode\":\"HTML\"}",
-            escapeJson(config.getChatId()),
-            escapeJson(message)
-        );
+    @Override
+    public long getCoalesceWindowMillis() {
+        return config != null ? Math.max(0, config.getCoalesceWindowMillis()) : 0;
+    }
+
+    /**
+     * Post one message, waiting for the rate limiter and honouring flood control
+     * @return the id of the sent message, {@link #NO_MESSAGE_ID} if it was settled without
+     *         one (permanent error), or {@link #NOT_DELIVERED} if it should be retried
+     */
+    private long post(String message, NotificationPriority priority) {
+        // Wait for a token instead of dropping the alert; anything arriving meanwhile
+        // stays in the dispatcher's priority queue
+        int reserved = reservedTokens(priority);
+        try {
+            rateLimiter.acquire(reserved);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return NOT_DELIVERED;
+        }
 
-        RequestBody body = RequestBody.create(jsonBody, JSON);
         Request request = new Request.Builder()
             .url(config.getSendMessageUrl())
-            .post(body)
+            .post(jsonBody(NO_MESSAGE_ID, message))
+            .build();
+
+        // Send synchronously: this runs on the service's dispatcher thread, which
+        // keeps messages in order and lets a slow API back up into the bounded queue
+        for (int attempt = 1; ; attempt++) {
+            try (Response response = httpClient.newCall(request).execute()) {
+                String responseBody = response.body() != null ? response.body().string() : "No body";
+                if (response.isSuccessful()) {
+                    PokeAlertClient.LOGGER.debug("Telegram notification sent successfully");
+                    return parseMessageId(responseBody);
+                }
+                if (response.code() == 429 && attempt < MAX_ATTEMPTS) {
+                    // Flood control: pause every Telegram send for as long as we're told, then retry
+                    long retryAfter = parseRetryAfterSeconds(responseBody);
+                    PokeAlertClient.LOGGER.warn("Telegram rate limited, pausing for {}s", retryAfter);
+                    rateLimiter.pauseFor(TimeUnit.SECONDS.toMillis(retryAfter));
+                    rateLimiter.acquire(reserved);
+                    continue;
+                }
+                PokeAlertClient.LOGGER.error("Telegram API returned error: {} - {}", response.code(), responseBody);
+                // Other client errors (bad token, unknown chat) won't go away by retrying
+                return response.code() != 429 && response.code() < 500 ? NO_MESSAGE_ID : NOT_DELIVERED;
+            } catch (IOException e) {
+                PokeAlertClient.LOGGER.error("Failed to send Telegram notification: {}", e.getMessage());
+                return NOT_DELIVERED;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return NOT_DELIVERED;
+            }
+        }
+    }
+
+    /**
+     * Once the rarity lookups still running for these alerts complete, edit the sent
+     * message if its text changed. Runs on whichever thread completes the lookup, so
+     * the edit is sent asynchronously and skipped rather than waiting for a token.
+     */
+    private void updateWhenResolved(long messageId, List<PokemonSpawnData> alerts, String sent, Supplier<String> formatter) {
+        if (messageId == NO_MESSAGE_ID || alerts.stream().allMatch(PokemonSpawnData::isRarityResolved)) {
+            return;
+        }
+        CompletableFuture.allOf(alerts.stream().map(PokemonSpawnData::resolveRarity).toArray(CompletableFuture[]::new))
+            .whenComplete((ignored, error) -> {
+                String updated = formatter.get();
+                if (!updated.equals(sent)) {
+                    editMessage(messageId, updated);
+                }
+            });
+    }
+
+    private void editMessage(long messageId, String message) {
+        if (!isEnabled()) {
+            return;
+        }
+        // Edits share the budget of normal alerts, never the high-priority reserve
+        if (rateLimiter.tryAcquire(reservedTokens(NotificationPriority.NORMAL)) > 0) {
+            editsSkipped.incrementAndGet();
+            PokeAlertClient.LOGGER.debug("Skipped Telegram rarity edit, rate limited");
+            return;
+        }
+
+        Request request = new Request.Builder()
+            .url(config.getEditMessageTextUrl())
+            .post(jsonBody(messageId, message))
             .build();
 
-        // Send async
         httpClient.newCall(request).enqueue(new Callback() {
             @Override
             public void onFailure(Call call, IOException e) {
-                PokeAlertClient.LOGGER.error("Failed to send Telegram notification: {}", e.getMessage());
+                PokeAlertClient.LOGGER.warn("Failed to update Telegram alert: {}", e.getMessage());
             }
 
             @Override
             public void onResponse(Call call, Response response) throws IOException {
                 if (response.isSuccessful()) {
-                    PokeAlertClient.LOGGER.debug("Telegram notification sent successfully");
+                    edits.incrementAndGet();
                 } else {
-                    PokeAlertClient.LOGGER.error(
-                        "Telegram API returned error: {} - {}",
+                    PokeAlertClient.LOGGER.warn(
+                        "Telegram API returned error for edit: {} - {}",
                         response.code(),
                         response.body() != null ? response.body().string() : "No body"
                     );
@@ -97,6 +280,57 @@ public class TelegramNotification extends NotificationService {
         });
     }
 
+    private void recordTimeToPhone(List<PokemonSpawnData> alerts) {
+        long now = System.currentTimeMillis();
+        for (PokemonSpawnData data : alerts) {
+            long elapsed = now - data.getTimestamp();
+            phoneDeliveries.incrementAndGet();
+            timeToPhoneMillis.addAndGet(elapsed);
+            maxTimeToPhoneMillis.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    /**
+     * The shared Telegram rate limiter, for status output
+     */
+    public TokenBucket getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Average time from detection until Telegram accepted the alert, in milliseconds
+     */
+    public long getAverageTimeToPhoneMillis() {
+        long count = phoneDeliveries.get();
+        return count == 0 ? 0 : timeToPhoneMillis.get() / count;
+    }
+
+    public long getMaxTimeToPhoneMillis() {
+        return maxTimeToPhoneMillis.get();
+    }
+
+    /**
+     * Number of sent alerts updated with a better rarity
+     */
+    public long getEditCount() {
+        return edits.get();
+    }
+
+    public long getEditsSkippedCount() {
+        return editsSkipped.get();
+    }
+
+    public long getDigestsSentCount() {
+        return digestsSent.get();
+    }
+
+    /**
+     * Number of alerts that went out as part of a digest
+     */
+    public long getDigestedAlertCount() {
+        return digestedAlerts.get();
+    }
+
     @Override
     public boolean isEnabled() {
         return PokeAlertClient.getInstance().config.telegramEnabled && config != null && config.isValid();
@@ -107,38 +341,24 @@ public class TelegramNotification extends NotificationService {
         return "Telegram Notification";
     }
 
-    @Override
-    public void shutdown() {
-        if (httpClient != null) {
-            httpClient.dispatcher().executorService().shutdown();
-            httpClient.connectionPool().evictAll();
-        }
-    }
-    
     /**
      * Send egg timer notification to Telegram
+     * @param durationMinutes Length of the completed timer
+     * @param startTime When it was started, e.g. "14:05"
      */
-    public void sendEggTimerNotification(String message) {
+    public void sendEggTimerNotification(int durationMinutes, String startTime) {
         if (!isEnabled()) {
             PokeAlertClient.LOGGER.debug("Egg timer Telegram notification skipped - service not enabled or config invalid");
             return;
         }
         
         try {
-            JsonObject jsonPayload = new JsonObject();
-            jsonPayload.addProperty("chat_id", config.getChatId());
-            jsonPayload.addProperty("text", message);
-            jsonPayload.addProperty("parse_mode", "HTML");
+            String message = eggTimerTemplate.get(config.getEggTimerTemplate()).render(
+                new String[] {String.valueOf(durationMinutes), startTime}, EGG_TIMER_VALUES, MessageTemplate.Escaping.HTML);
             
-            RequestBody body = RequestBody.create(
-                MediaType.parse("application/json"),
-                jsonPayload.toString()
-            );
-            
-            String url = String.format("https://api.telegram.org/bot%s/sendMessage", config.getBotToken());
             Request request = new Request.Builder()
-                .url(url)
-                .post(body)
+                .url(config.getSendMessageUrl())
+                .post(jsonBody(NO_MESSAGE_ID, message))
                 .build();
             
             httpClient.newCall(request).enqueue(new Callback() {
@@ -167,66 +387,129 @@ public class TelegramNotification extends NotificationService {
     }
 
     /**
-     * Format a rich message for Telegram
+     * Format a rich message for Telegram from the configured alert template
      */
     private String formatMessage(PokemonSpawnData data) {
-        String time = TIME_FORMATTER.format(Instant.ofEpochMilli(data.getTimestamp()));
-        
-        // Get Pokemon name without "Shiny" prefix for URL
-        String pokemonName = data.getPokemonName();
-        
-        // Build display name with Shiny prefix if applicable
-        String displayName = data.isShiny() ? "Shiny " + pokemonName : pokemonName;
-        
-        // Get Bulbapedia URL and rarity from shared scraper (uses cached value from PokemonSpawnData)
-        String bulbapediaUrl = data.getBulbapediaUrl();
-        String rarity = data.getRarityText();
-        
-        // Clean list format with formatted values and hyperlinked Pokemon name
-        StringBuilder message = new StringBuilder();
-        message.append("<b>🚨 PokéAlert</b>\n");
-        message.append("• Pokémon: <a href=\"").append(bulbapediaUrl).append("\">")
-               .append(displayName).append("</a>\n");
-        message.append("• Rarity: <i>").append(rarity).append("</i>\n");
-        message.append("• Detected: <code>").append(time).append("</code>\n");
-        message.append("• Position: <code>X:").append(data.getX())
-               .append(" Y:").append(data.getY())
-               .append(" Z:").append(data.getZ()).append("</code>\n");
-        message.append("• Location: <i>").append(data.getWorldName()).append("</i>");
-        
+        return alertTemplate.get(config.getAlertTemplate()).render(data, ALERT_VALUES, MessageTemplate.Escaping.HTML);
+    }
+
+    /**
+     * Format several alerts as one message: header, one line per Pokemon, footer for the first
+     */
+    private String formatDigest(List<PokemonSpawnData> sorted) {
+        MessageTemplate line = digestLineTemplate.get(config.getDigestLineTemplate());
+        StringBuilder message = new StringBuilder(128 * (sorted.size() + 2));
+        digestHeaderTemplate.get(config.getDigestHeaderTemplate())
+            .renderTo(message, sorted.size(), COUNT_VALUES, MessageTemplate.Escaping.HTML);
+        for (PokemonSpawnData data : sorted) {
+            message.append('\n');
+            line.renderTo(message, data, ALERT_VALUES, MessageTemplate.Escaping.HTML);
+        }
+        message.append('\n');
+        digestFooterTemplate.get(config.getDigestFooterTemplate())
+            .renderTo(message, sorted.get(0), ALERT_VALUES, MessageTemplate.Escaping.HTML);
         return message.toString();
     }
 
+    private static List<PokemonSpawnData> sortForDigest(List<PokemonSpawnData> batch) {
+        // Rank each rarity once rather than on every comparison
+        Map<PokemonSpawnData, Integer> ranks = new IdentityHashMap<>(batch.size());
+        for (PokemonSpawnData data : batch) {
+            ranks.put(data, rarityRank(data.getRarityText()));
+        }
+        List<PokemonSpawnData> sorted = new ArrayList<>(batch);
+        sorted.sort(digestOrder(ranks));
+        return sorted;
+    }
+
     /**
-     * Escape JSON special characters
+     * Priority lane first, then rarity, then distance from the player
+     * @param ranks The rarity rank of every spawn being sorted
      */
-    private String escapeJson(String str) {
-        return str.replace("\\", "\\\\")
-                  .replace("\"", "\\\"")
-                  .replace("\n", "\\n")
-                  .replace("\r", "\\r")
-                  .replace("\t", "\\t");
+    private static Comparator<PokemonSpawnData> digestOrder(Map<PokemonSpawnData, Integer> ranks) {
+        // Read the position once; this runs off the client thread, so it may be a tick stale
+        ClientPlayerEntity player = MinecraftClient.getInstance().player;
+        double px = player != null ? player.getX() : 0;
+        double pz = player != null ? player.getZ() : 0;
+        return Comparator.comparing(PokemonSpawnData::getPriority)
+            .thenComparingInt(ranks::get)
+            .thenComparingDouble(data -> {
+                double dx = data.getX() - px;
+                double dz = data.getZ() - pz;
+                return dx * dx + dz * dz;
+            });
+    }
+
+    private static int rarityRank(String rarity) {
+        String lower = rarity.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < RARITY_ORDER.length; i++) {
+            if (lower.contains(RARITY_ORDER[i])) {
+                return i;
+            }
+        }
+        return RARITY_ORDER.length;
     }
 
     /**
-     * Check if we're within rate limits
+     * sendMessage / editMessageText body, streamed with JsonWriter straight into the request buffer
+     * @param messageId The message to edit, or {@link #NO_MESSAGE_ID} to send a new one
      */
-    private boolean checkRateLimit() {
-        long now = System.currentTimeMillis();
-        
-        // Reset counter every minute
-        if (now - lastResetTime > 60000) {
-            notificationCount = 0;
-            lastResetTime = now;
+    private RequestBody jsonBody(long messageId, String text) {
+        Buffer buffer = new Buffer();
+        try (JsonWriter json = new JsonWriter(new OutputStreamWriter(buffer.outputStream(), StandardCharsets.UTF_8))) {
+            json.beginObject();
+            json.name("chat_id").value(config.getChatId());
+            if (messageId != NO_MESSAGE_ID) {
+                json.name("message_id").value(messageId);
+            }
+            json.name("text").value(text);
+            json.name("parse_mode").value("HTML");
+            json.endObject();
+        } catch (IOException e) {
+            // Writing to an in-memory buffer doesn't fail
+            throw new IllegalStateException(e);
         }
+        return RequestBody.create(buffer.readByteString(), JSON);
+    }
 
-        // Check if we've exceeded the limit
-        if (notificationCount >= config.getMaxNotificationsPerMinute()) {
-            return false;
+    /**
+     * Tokens that normal and low priority alerts must leave in the bucket, so a
+     * shiny or legendary still goes out promptly after a burst
+     */
+    private int reservedTokens(NotificationPriority priority) {
+        if (priority == NotificationPriority.HIGH) {
+            return 0;
         }
+        return Math.max(1, config.getMaxNotificationsPerMinute() / HIGH_PRIORITY_RESERVE_DIVISOR);
+    }
 
-        notificationCount++;
-        return true;
+    /**
+     * Read result.message_id from a sendMessage response body
+     */
+    private static long parseMessageId(String responseBody) {
+        try {
+            JsonObject result = JsonParser.parseString(responseBody).getAsJsonObject().getAsJsonObject("result");
+            if (result != null && result.has("message_id")) {
+                return result.get("message_id").getAsLong();
+            }
+        } catch (RuntimeException e) {
+            // Sent, just not editable
+        }
+        return NO_MESSAGE_ID;
     }
-}
 
+    /**
+     * Read parameters.retry_after (seconds) from a 429 response body
+     */
+    private static long parseRetryAfterSeconds(String responseBody) {
+        try {
+            JsonObject parameters = JsonParser.parseString(responseBody).getAsJsonObject().getAsJsonObject("parameters");
+            if (parameters != null && parameters.has("retry_after")) {
+                return Math.max(1, parameters.get("retry_after").getAsLong());
+            }
+        } catch (RuntimeException e) {
+            // Not the documented error shape; fall back to the default
+        }
+        return DEFAULT_RETRY_AFTER_SECONDS;
+    }
+}
@@ -0,0 +1,258 @@
+package com.afiqhasiff.pokealert.client.util;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rarity lookups through the MediaWiki API of Bulbapedia.
+ * Instead of downloading and parsing whole species articles, one query fetches
+ * the intro section wikitext (which holds the infobox) and only the relevant
+ * categories for up to {@link #MAX_TITLES} species at once.
+ * The API endpoint is configurable so it can be pointed at a mirror or a local stub.
+ */
+public class BulbapediaApi {
+    // MediaWiki's limit on titles per query for regular clients
+    public static final int MAX_TITLES = 50;
+
+    // Only these categories are returned; anything else on the page is irrelevant to rarity
+    private static final String RARITY_CATEGORIES = String.join("|",
+        "Category:Legendary Pokémon",
+        "Category:Mythical Pokémon",
+        "Category:Ultra Beasts",
+        "Category:Paradox Pokémon"
+    );
+    private static final Pattern RARITY_PARAM = Pattern.compile("\\|\\s*rarity\\s*=\\s*([^|}\\n]+)", Pattern.CASE_INSENSITIVE);
+
+    // Shares the transport's connection pool, with tighter timeouts
+    private final OkHttpClient httpClient = HttpTransport.client().newBuilder()
+        .connectTimeout(5, TimeUnit.SECONDS)
+        .readTimeout(5, TimeUnit.SECONDS)
+        .build();
+
+    /**
+     * Rarity of a species page and the revision it was read from
+     */
+    public static final class PageRarity {
+        private final String rarity;
+        private final long revision;
+
+        PageRarity(String rarity, long revision) {
+            this.rarity = rarity;
+            this.revision = revision;
+        }
+
+        /**
+         * The rarity, or an empty string if the page has none
+         */
+        public String getRarity() {
+            return rarity;
+        }
+
+        /**
+         * Revision id of the page, or 0 if the response didn't include one
+         */
+        public long getRevision() {
+            return revision;
+        }
+    }
+
+    /**
+     * Look up the rarity of several species in a single request
+     * @param apiUrl The api.php endpoint, e.g. https://bulbapedia.bulbagarden.net/w/api.php
+     * @param pokemonNames At most {@link #MAX_TITLES} species names
+     * @return rarity per requested name; names without a page are left out
+     * @throws IOException if the request fails or the response can't be read
+     */
+    public Map<String, PageRarity> fetchRarities(String apiUrl, Collection<String> pokemonNames) throws IOException {
+        Map<String, String> namesByTitle = titles(pokemonNames);
+        JsonObject query = query(apiUrl, namesByTitle, builder -> builder
+            .addQueryParameter("prop", "categories|revisions")
+            .addQueryParameter("clcategories", RARITY_CATEGORIES)
+            .addQueryParameter("cllimit", "max")
+            .addQueryParameter("rvprop", "ids|content")
+            .addQueryParameter("rvslots", "main")
+            .addQueryParameter("rvsection", "0"));
+
+        Map<String, PageRarity> rarities = new HashMap<>();
+        forEachPage(query, namesByTitle, (name, page) -> rarities.put(name, new PageRarity(findRarity(page), findRevision(page))));
+        return rarities;
+    }
+
+    /**
+     * Look up only the current revision of several species pages. Much cheaper than
+     * {@link #fetchRarities}, so a stored rarity can be revalidated by comparing revisions.
+     * @return revision id per requested name; names without a page are left out
+     * @throws IOException if the request fails or the response can't be read
+     */
+    public Map<String, Long> fetchRevisions(String apiUrl, Collection<String> pokemonNames) throws IOException {
+        Map<String, String> namesByTitle = titles(pokemonNames);
+        JsonObject query = query(apiUrl, namesByTitle, builder -> builder
+            .addQueryParameter("prop", "revisions")
+            .addQueryParameter("rvprop", "ids"));
+
+        Map<String, Long> revisions = new HashMap<>();
+        forEachPage(query, namesByTitle, (name, page) -> revisions.put(name, findRevision(page)));
+        return revisions;
+    }
+
+    /**
+     * Page title -> requested name, for mapping results back
+     */
+    private static Map<String, String> titles(Collection<String> pokemonNames) {
+        Map<String, String> namesByTitle = new HashMap<>();
+        for (String name : pokemonNames) {
+            namesByTitle.put(toTitle(name), name);
+        }
+        return namesByTitle;
+    }
+
+    /**
+     * Run a query for the given titles
+     * @param props Adds the query-specific parameters
+     * @return the "query" object of the response
+     */
+    private JsonObject query(String apiUrl, Map<String, String> namesByTitle, UnaryOperator<HttpUrl.Builder> props) throws IOException {
+        HttpUrl base = HttpUrl.parse(apiUrl);
+        if (base == null) {
+            throw new IOException("Invalid rarity API URL: " + apiUrl);
+        }
+
+        HttpUrl url = props.apply(base.newBuilder()
+            .addQueryParameter("action", "query")
+            .addQueryParameter("format", "json")
+            .addQueryParameter("formatversion", "2")
+            .addQueryParameter("redirects", "1"))
+            .addQueryParameter("titles", String.join("|", namesByTitle.keySet()))
+            .build();
+
+        Request request = new Request.Builder()
+            .url(url)
+            .header("User-Agent", "PokeAlert (Cobblemon client mod)")
+            .build();
+
+        try (Response response = httpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("HTTP " + response.code());
+            }
+            JsonObject query = JsonParser.parseString(body.string()).getAsJsonObject().getAsJsonObject("query");
+            if (query == null) {
+                throw new IOException("Response has no query result");
+            }
+            return query;
+        } catch (RuntimeException e) {
+            // Malformed JSON or unexpected structure
+            throw new IOException("Unreadable rarity API response: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Call the consumer for every existing page, with the name it was requested as
+     */
+    private static void forEachPage(JsonObject query, Map<String, String> namesByTitle, BiConsumer<String, JsonObject> consumer) throws IOException {
+        try {
+            // Follow title normalization and redirects back to the requested titles
+            Map<String, String> requestedTitle = new HashMap<>();
+            for (String title : namesByTitle.keySet()) {
+                requestedTitle.put(title, title);
+            }
+            followRenames(query.getAsJsonArray("normalized"), requestedTitle);
+            followRenames(query.getAsJsonArray("redirects"), requestedTitle);
+
+            JsonArray pages = query.getAsJsonArray("pages");
+            if (pages == null) {
+                return;
+            }
+            for (JsonElement element : pages) {
+                JsonObject page = element.getAsJsonObject();
+                if (page.has("missing") || page.has("invalid")) {
+                    continue;
+                }
+                String name = namesByTitle.get(requestedTitle.get(page.get("title").getAsString()));
+                if (name != null) {
+                    consumer.accept(name, page);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Unexpected page structure
+            throw new IOException("Unreadable rarity API response: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Record renames (from -> to) so a final title can be traced back to the requested one
+     */
+    private static void followRenames(JsonArray renames, Map<String, String> requestedTitle) {
+        if (renames == null) {
+            return;
+        }
+        for (JsonElement element : renames) {
+            JsonObject rename = element.getAsJsonObject();
+            String requested = requestedTitle.get(rename.get("from").getAsString());
+            if (requested != null) {
+                requestedTitle.put(rename.get("to").getAsString(), requested);
+            }
+        }
+    }
+
+    /**
+     * Same precedence as the page scraper: an explicit rarity field first, then categories
+     */
+    private static String findRarity(JsonObject page) {
+        JsonArray revisions = page.getAsJsonArray("revisions");
+        if (revisions != null && !revisions.isEmpty()) {
+            JsonObject main = revisions.get(0).getAsJsonObject().getAsJsonObject("slots").getAsJsonObject("main");
+            Matcher matcher = RARITY_PARAM.matcher(main.get("content").getAsString());
+            if (matcher.find() && !matcher.group(1).isBlank()) {
+                return matcher.group(1).trim();
+            }
+        }
+
+        JsonArray categories = page.getAsJsonArray("categories");
+        if (categories != null) {
+            for (JsonElement element : categories) {
+                String title = element.getAsJsonObject().get("title").getAsString();
+                if (title.contains("Legendary Pokémon")) {
+                    return "Legendary";
+                } else if (title.contains("Mythical Pokémon")) {
+                    return "Mythical";
+                } else if (title.contains("Ultra Beasts")) {
+                    return "Ultra Beast";
+                } else if (title.contains("Paradox Pokémon")) {
+                    return "Paradox";
+                }
+            }
+        }
+        return "";
+    }
+
+    private static long findRevision(JsonObject page) {
+        JsonArray revisions = page.getAsJsonArray("revisions");
+        if (revisions == null || revisions.isEmpty()) {
+            return 0;
+        }
+        JsonElement revid = revisions.get(0).getAsJsonObject().get("revid");
+        return revid != null ? revid.getAsLong() : 0;
+    }
+
+    private static String toTitle(String pokemonName) {
+        return SpeciesCatalog.intern(pokemonName).getBulbapediaTitle();
+    }
+}
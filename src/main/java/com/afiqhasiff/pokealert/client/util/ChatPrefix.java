@@ -0,0 +1,25 @@
+package com.afiqhasiff.pokealert.client.util;
+
+import net.minecraft.text.MutableText;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+/**
+ * The "[PokéAlert] " prefix of every chat message, built once.
+ * Messages reference the same component instead of rebuilding its three parts each time.
+ */
+public final class ChatPrefix {
+    private static final Text PREFIX = Text.literal("[").formatted(Formatting.GRAY)
+        .append(Text.literal("PokéAlert").formatted(Formatting.RED))
+        .append(Text.literal("] ").formatted(Formatting.GRAY));
+
+    private ChatPrefix() {
+    }
+
+    /**
+     * A new message starting with the prefix; append the rest to it
+     */
+    public static MutableText prefixed() {
+        return Text.empty().append(PREFIX);
+    }
+}
@@ -0,0 +1,111 @@
+package com.afiqhasiff.pokealert.client.util;
+
+import com.afiqhasiff.pokealert.client.PokeAlertClient;
+
+/**
+ * Minimal circuit breaker for a remote dependency.
+ * After a number of consecutive failures the circuit opens and calls are rejected
+ * straight away (callers use their fallback) instead of each paying a full timeout.
+ * Once the open period has passed a single probe call is let through (half-open):
+ * success closes the circuit again, failure re-opens it.
+ * Thread-safe; state transitions are logged and counted.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    // Counters for /pokealert status
+    private long openCount;
+    private long rejectedCount;
+
+    /**
+     * @param name Name used in log messages
+     * @param failureThreshold Consecutive failures before the circuit opens
+     * @param openMillis How long the circuit stays open before a probe is allowed
+     */
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Ask permission to make a call
+     * @return true if the call may go ahead; the caller must then report
+     *         {@link #recordSuccess()} or {@link #recordFailure()}
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt >= openMillis) {
+                    transition(State.HALF_OPEN);
+                    probeInFlight = true;
+                    return true;
+                }
+                break;
+            case HALF_OPEN:
+                if (!probeInFlight) {
+                    probeInFlight = true;
+                    return true;
+                }
+                break;
+        }
+        rejectedCount++;
+        return false;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    public synchronized void recordFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = System.currentTimeMillis();
+            openCount++;
+            transition(State.OPEN);
+        }
+    }
+
+    private void transition(State next) {
+        PokeAlertClient.LOGGER.info("{} circuit {} -> {} ({} consecutive failures)", name, state, next, consecutiveFailures);
+        state = next;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Number of times the circuit has opened
+     */
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+
+    /**
+     * Number of calls rejected while the circuit was open
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+}
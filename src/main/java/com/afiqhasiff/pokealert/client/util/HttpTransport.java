@@ -0,0 +1,115 @@
+package com.afiqhasiff.pokealert.client.util;
+
+import com.afiqhasiff.pokealert.client.PokeAlertClient;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dns;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one HTTP client for every outbound call (Telegram, Bulbapedia).
+ * Sharing it means a single connection pool with keep-alive, HTTP/2 multiplexing
+ * where the server supports it, one dispatcher thread pool and a DNS cache.
+ * Callers that need different timeouts derive a client with {@code client().newBuilder()},
+ * which still shares the pool and dispatcher. Connections to the hosts we are about to
+ * use are opened ahead of time with {@link #warmUp}, so the first alert doesn't pay
+ * for DNS and the TLS handshake.
+ */
+public final class HttpTransport {
+    private static final long DNS_TTL_MILLIS = 5 * 60 * 1000;
+
+    private static final OkHttpClient CLIENT = new OkHttpClient.Builder()
+        .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
+        .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+        .dns(new CachingDns())
+        .connectTimeout(10, TimeUnit.SECONDS)
+        .writeTimeout(10, TimeUnit.SECONDS)
+        .readTimeout(30, TimeUnit.SECONDS)
+        .build();
+
+    private HttpTransport() {
+    }
+
+    public static OkHttpClient client() {
+        return CLIENT;
+    }
+
+    /**
+     * Open (and keep in the pool) a connection to the host of the given URL.
+     * Fire-and-forget: the response itself is discarded.
+     */
+    public static void warmUp(String url) {
+        HttpUrl parsed = url != null ? HttpUrl.parse(url) : null;
+        if (parsed == null) {
+            return;
+        }
+        HttpUrl root = parsed.newBuilder().encodedPath("/").query(null).build();
+        Request request = new Request.Builder()
+            .url(root)
+            .head()
+            .header("User-Agent", "PokeAlert (Cobblemon client mod)")
+            .build();
+        CLIENT.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                PokeAlertClient.LOGGER.debug("Connection warm-up to {} failed: {}", root.host(), e.getMessage());
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                PokeAlertClient.LOGGER.debug("Warmed connection to {} ({})", root.host(), response.protocol());
+            }
+        });
+    }
+
+    /**
+     * Close pooled connections and stop the dispatcher threads
+     */
+    public static void shutdown() {
+        CLIENT.dispatcher().executorService().shutdown();
+        CLIENT.connectionPool().evictAll();
+    }
+
+    /**
+     * Remembers lookups for a few minutes instead of relying on the JVM's short default
+     */
+    private static final class CachingDns implements Dns {
+        private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+        private static final class Cached {
+            final List<InetAddress> addresses;
+            final long expiresAt;
+
+            Cached(List<InetAddress> addresses, long expiresAt) {
+                this.addresses = addresses;
+                this.expiresAt = expiresAt;
+            }
+        }
+
+        @Override
+        public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+            Cached cached = cache.get(hostname);
+            long now = System.currentTimeMillis();
+            if (cached != null && cached.expiresAt > now) {
+                return cached.addresses;
+            }
+            List<InetAddress> addresses = Dns.SYSTEM.lookup(hostname);
+            cache.put(hostname, new Cached(addresses, now + DNS_TTL_MILLIS));
+            return addresses;
+        }
+    }
+}
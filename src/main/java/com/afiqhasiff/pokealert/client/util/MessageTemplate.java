@@ -0,0 +1,177 @@
+package com.afiqhasiff.pokealert.client.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A user-editable message with {field} placeholders, parsed once into literal and
+ * field segments. Rendering walks the segments into a per-thread buffer that is
+ * reused between messages, so a render allocates little beyond the resulting String.
+ * Placeholders that aren't one of the template's field names are kept as literal text.
+ * Example: "A {rarity} {pokemon} spawned at {x} {y} {z}"
+ */
+public final class MessageTemplate {
+    /**
+     * How field values are escaped; literal text is the user's own markup and never escaped
+     */
+    public enum Escaping {
+        NONE,
+        HTML
+    }
+
+    /**
+     * Writes field values of a source object
+     */
+    @FunctionalInterface
+    public interface Fields<T> {
+        /**
+         * @param field Index of the field in the names the template was compiled with
+         */
+        void append(T source, int field, StringBuilder out);
+    }
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+    // Buffers that grew past this are dropped after use instead of being kept per thread
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+
+    private final String source;
+    // literals[i] comes before fields[i]; the last literal trails the last field
+    private final String[] literals;
+    private final int[] fields;
+
+    private MessageTemplate(String source, String[] literals, int[] fields) {
+        this.source = source;
+        this.literals = literals;
+        this.fields = fields;
+    }
+
+    /**
+     * Parse a template
+     * @param fieldNames Placeholder names, in the order of the indices passed to {@link Fields}
+     */
+    public static MessageTemplate compile(String source, List<String> fieldNames) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> fields = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            int close = c == '{' ? source.indexOf('}', i + 1) : -1;
+            int field = close > 0 ? fieldNames.indexOf(source.substring(i + 1, close)) : -1;
+            if (field >= 0) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                fields.add(field);
+                i = close + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+
+        return new MessageTemplate(
+            source,
+            literals.toArray(new String[0]),
+            fields.stream().mapToInt(Integer::intValue).toArray()
+        );
+    }
+
+    /**
+     * Render into a new String
+     */
+    public <T> String render(T value, Fields<T> values, Escaping escaping) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        renderTo(out, value, values, escaping);
+        String rendered = out.toString();
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    /**
+     * Append to a caller's buffer, e.g. one line of a longer message
+     */
+    public <T> void renderTo(StringBuilder out, T value, Fields<T> values, Escaping escaping) {
+        for (int i = 0; i < fields.length; i++) {
+            out.append(literals[i]);
+            int start = out.length();
+            values.append(value, fields[i], out);
+            if (escaping == Escaping.HTML) {
+                escapeHtml(out, start);
+            }
+        }
+        out.append(literals[fields.length]);
+    }
+
+    /**
+     * Number of placeholders in the template
+     */
+    public int getFieldCount() {
+        return fields.length;
+    }
+
+    /**
+     * Field index of the n-th placeholder
+     */
+    public int getField(int n) {
+        return fields[n];
+    }
+
+    /**
+     * Literal text before the n-th placeholder; n == {@link #getFieldCount()} is the trailing text
+     */
+    public String getLiteral(int n) {
+        return literals[n];
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Escape what was appended since start, in place. Names rarely contain any of
+     * these characters, so usually this is a scan and nothing more.
+     */
+    private static void escapeHtml(StringBuilder out, int start) {
+        for (int i = start; i < out.length(); i++) {
+            String entity = switch (out.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                default -> null;
+            };
+            if (entity != null) {
+                out.replace(i, i + 1, entity);
+                i += entity.length() - 1;
+            }
+        }
+    }
+
+    /**
+     * Holds the compiled form of a configurable template, recompiling only when the text changes
+     */
+    public static final class Cached {
+        private final List<String> fieldNames;
+        // The template carries its own source, so text and compiled form are read as one
+        private volatile MessageTemplate compiled;
+
+        public Cached(List<String> fieldNames) {
+            this.fieldNames = List.copyOf(fieldNames);
+        }
+
+        public MessageTemplate get(String source) {
+            MessageTemplate current = compiled;
+            // Usually the very same String instance, so this is an identity check
+            if (current == null || !current.source.equals(source)) {
+                current = compile(source, fieldNames);
+                compiled = current;
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.afiqhasiff.pokealert.client.util;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Finds the rarity on a Bulbapedia species page while it is still downloading.
+ * Elements are parsed incrementally and checked as soon as they are complete;
+ * the first "Rarity:" cell or rarity category link ends the parse and closes the
+ * reader, so the rest of the (very large) article is never read or built.
+ */
+final class RarityPage {
+    // Elements that can carry the rarity on a species page
+    static final String RARITY_ELEMENTS = "td, a[title*='Category:']";
+
+    private RarityPage() {
+    }
+
+    /**
+     * @param page The page's HTML; closed when this returns
+     * @param baseUri URL of the page, for resolving relative links
+     * @return the rarity, or null if the page has none
+     */
+    static String findRarity(Reader page, String baseUri) throws IOException {
+        try (StreamParser streamer = new StreamParser(Parser.htmlParser()).parse(page, baseUri)) {
+            Element element;
+            while ((element = streamer.selectNext(RARITY_ELEMENTS)) != null) {
+                String rarity = element.normalName().equals("td")
+                    ? cellRarity(element.text())
+                    : categoryRarity(element.attr("title"));
+                if (rarity != null) {
+                    return rarity;
+                }
+                // Not what we're after; drop it so the partial tree stays small
+                element.remove();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pattern: {@code <td>Rarity: Rare</td>}
+     */
+    static String cellRarity(String text) {
+        return text.startsWith("Rarity:") ? text.substring(8).trim() : null; // Remove "Rarity: " prefix
+    }
+
+    /**
+     * Legendary/mythical status from a category link title
+     */
+    static String categoryRarity(String title) {
+        if (title.contains("Legendary Pokémon")) {
+            return "Legendary";
+        } else if (title.contains("Mythical Pokémon")) {
+            return "Mythical";
+        } else if (title.contains("Ultra Beasts")) {
+            return "Ultra Beast";
+        } else if (title.contains("Paradox Pokémon")) {
+            return "Paradox";
+        }
+        return null;
+    }
+}
@@ -1,24 +1,121 @@
 package com.afiqhasiff.pokealert.client.util;
 
 import com.afiqhasiff.pokealert.client.PokeAlertClient;
+import com.afiqhasiff.pokealert.client.config.ConfigManager;
 import net.minecraft.util.Formatting;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 
+import java.io.File;
 import java.io.IOException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Utility class for scraping Pokemon rarity from Bulbapedia.
+ * Utility class for looking up Pokemon rarity on Bulbapedia, through its MediaWiki API
+ * (batched, a few KB per species) or by scraping the species pages.
+ * Scraped rarities are kept in a persistent {@link RarityStore} so each species is
+ * only fetched once across sessions; entries older than the TTL are still served
+ * but revalidated in the background: through the API by comparing page revisions,
+ * otherwise with a conditional page request.
  * Provides caching and fallback mechanisms.
  */
 public class RarityScraper {
-    // Cache for scraped rarities to avoid repeated requests
-    private static final ConcurrentHashMap<String, RarityInfo> rarityCache = new ConcurrentHashMap<>();
+    // Scraped rarities persist across sessions, revalidated after a week
+    private static final RarityStore store = new RarityStore(new File(ConfigManager.getConfigDir(), "pokealert-rarity.dat"));
+    private static final long ENTRY_TTL_MILLIS = 7L * 24 * 60 * 60 * 1000;
+
+    // Bounded I/O pool for page fetches and background revalidation
+    private static final int IO_THREADS = 2;
+    private static final int IO_QUEUE_SIZE = 64;
+    private static final ThreadPoolExecutor ioExecutor = new ThreadPoolExecutor(
+        IO_THREADS, IO_THREADS,
+        30, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(IO_QUEUE_SIZE),
+        runnable -> {
+            Thread thread = new Thread(runnable, "PokeAlert-RarityIO");
+            thread.setDaemon(true);
+            return thread;
+        }
+    );
+    static {
+        ioExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    // Callers waiting longer than this get the species index fallback; the fetch itself carries on
+    private static final long RESOLVE_TIMEOUT_MILLIS = 3000;
+
+    // Single-flight: concurrent requests for one species share the same fetch
+    private static final ConcurrentHashMap<String, CompletableFuture<RarityInfo>> inFlight = new ConcurrentHashMap<>();
+    private static final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    // Batched lookups through the MediaWiki API, used when an API URL is configured
+    private static final BulbapediaApi api = new BulbapediaApi();
+    // Marks a stored validator as an API page revision rather than an HTTP ETag
+    private static final String REVISION_VALIDATOR_PREFIX = "rev:";
+    // Page scrapes share the transport's connection pool, with tighter timeouts
+    private static final OkHttpClient scrapeClient = HttpTransport.client().newBuilder()
+        .connectTimeout(5, TimeUnit.SECONDS)
+        .readTimeout(5, TimeUnit.SECONDS)
+        .build();
+
+    // Stop scraping after repeated failures so alerts don't each wait out the timeout
+    private static final CircuitBreaker breaker = new CircuitBreaker("Bulbapedia", 3, 60_000);
+    // Species whose last scrape failed are not retried for a while
+    private static final long NEGATIVE_TTL_MILLIS = 5 * 60 * 1000;
+    private static final ConcurrentHashMap<String, Long> failedUntil = new ConcurrentHashMap<>();
+
+    // Pre-warming runs one species at a time with a pause in between to stay polite
+    private static final long PREWARM_DELAY_MILLIS = 750;
+    private static final ExecutorService prewarmExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "PokeAlert-RarityPrewarm");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicInteger prewarmGeneration = new AtomicInteger();
+    private static final AtomicInteger prewarmTotal = new AtomicInteger();
+    private static final AtomicInteger prewarmDone = new AtomicInteger();
+
+    // Counters for /pokealert status
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Result of a page fetch: the scraped rarity (or null if the page had none)
+     * and the validators for revalidating it later
+     */
+    private static class ScrapeResult {
+        private final String rarity;
+        private final String etag;
+        private final String lastModified;
+        private final boolean notModified;
+
+        private ScrapeResult(String rarity, String etag, String lastModified, boolean notModified) {
+            this.rarity = rarity;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.notModified = notModified;
+        }
+    }
     
     /**
      * Data class containing rarity information
@@ -26,10 +123,17 @@ public class RarityScraper {
     public static class RarityInfo {
         private final String name;
         private final Formatting color;
+        // The rarity this was mapped from, or null for the species index fallback
+        private final String source;
         
         public RarityInfo(String name, Formatting color) {
+            this(name, color, null);
+        }
+
+        private RarityInfo(String name, Formatting color, String source) {
             this.name = name;
             this.color = color;
+            this.source = source;
         }
         
         public String getName() {
@@ -42,100 +146,444 @@ public class RarityScraper {
     }
     
     /**
-     * Get Pokemon rarity with color formatting.
-     * Tries to scrape from Bulbapedia first, then falls back to predefined lists.
+     * Load the persistent rarity store. Called once at startup.
+     */
+    public static void initialize() {
+        store.load();
+    }
+
+    /**
+     * Resolve Pokemon rarity with color formatting without blocking the caller.
+     * Uses the bundled species index, Cobblemon's spawn pool and the persistent store first,
+     * then (if enabled) Bulbapedia, then falls back to the species index categories.
+     * Concurrent requests for the same species share one fetch, and the future completes
+     * with the species index fallback if the fetch takes too long.
      * 
      * @param pokemonName The name of the Pokemon
-     * @return RarityInfo containing rarity name and color
+     * @return future of the RarityInfo containing rarity name and color
+     */
+    public static CompletableFuture<RarityInfo> resolveRarity(String pokemonName) {
+        String lowerName = toKey(pokemonName);
+        
+        RarityInfo known = getKnownRarity(pokemonName, lowerName);
+        if (known != null) {
+            hits.incrementAndGet();
+            return CompletableFuture.completedFuture(known);
+        }
+        misses.incrementAndGet();
+        if (!isScrapingEnabled()) {
+            return CompletableFuture.completedFuture(mapRarityToInfo(null, lowerName));
+        }
+        
+        // Time out a copy so the shared fetch still completes with the real result
+        return fetchAsync(pokemonName, lowerName).copy()
+            .completeOnTimeout(mapRarityToInfo(null, lowerName), RESOLVE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Pre-warm the rarity cache in the background so the first alert for a species
+     * doesn't wait on a live scrape. Species with a bundled or stored rarity are skipped;
+     * the rest are fetched one batch at a time with a pause in between, leaving the I/O pool
+     * free for live lookups. Starting a new pre-warm supersedes the previous one.
+     * 
+     * @param pokemonNames The species that may trigger notifications
+     */
+    public static void prewarm(Collection<String> pokemonNames) {
+        if (!isScrapingEnabled()) {
+            return;
+        }
+        Map<String, String> toFetch = new LinkedHashMap<>();
+        for (String name : pokemonNames) {
+            String lowerName = toKey(name);
+            if (!toFetch.containsKey(lowerName) && getKnownRarity(name, lowerName) == null) {
+                toFetch.put(lowerName, name);
+            }
+        }
+        if (toFetch.isEmpty()) {
+            return;
+        }
+        
+        int generation = prewarmGeneration.incrementAndGet();
+        prewarmTotal.set(toFetch.size());
+        prewarmDone.set(0);
+        PokeAlertClient.LOGGER.info("Pre-warming rarity cache for {} species", toFetch.size());
+        
+        prewarmExecutor.execute(() -> {
+            // With the API a whole batch costs one request; page scraping goes one species at a time
+            int batchSize = isApiEnabled() ? BulbapediaApi.MAX_TITLES : 1;
+            List<Map.Entry<String, String>> entries = new ArrayList<>(toFetch.entrySet());
+            for (int start = 0; start < entries.size(); start += batchSize) {
+                if (prewarmGeneration.get() != generation) {
+                    return; // Superseded by a newer pre-warm
+                }
+                Map<String, String> batch = new LinkedHashMap<>();
+                for (Map.Entry<String, String> entry : entries.subList(start, Math.min(start + batchSize, entries.size()))) {
+                    batch.put(entry.getKey(), entry.getValue());
+                }
+                try {
+                    // Wait for the fetch itself (not the caller timeout) so only one batch runs at a time
+                    CompletableFuture.allOf(fetchAllAsync(batch).values().toArray(new CompletableFuture[0])).get();
+                    prewarmDone.addAndGet(batch.size());
+                    Thread.sleep(PREWARM_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    prewarmDone.addAndGet(batch.size());
+                }
+            }
+            if (prewarmGeneration.get() == generation) {
+                PokeAlertClient.LOGGER.info("Rarity pre-warm finished ({} species)", prewarmDone.get());
+            }
+        });
+    }
+    
+    /**
+     * Start (or join) the fetch for a species on the I/O pool.
+     * Concurrent callers for the same species share one future.
      */
-    public static RarityInfo getPokemonRarity(String pokemonName) {
-        String lowerName = pokemonName.toLowerCase().replace(" ", "-");
+    private static CompletableFuture<RarityInfo> fetchAsync(String pokemonName, String lowerName) {
+        return fetchAllAsync(Map.of(lowerName, pokemonName)).get(lowerName);
+    }
+    
+    /**
+     * Start (or join) the fetch for several species; the ones not already in flight
+     * are fetched together as a single task on the I/O pool.
+     * 
+     * @param namesByKey Pokemon names keyed by their cache key
+     * @return a future per cache key
+     */
+    private static Map<String, CompletableFuture<RarityInfo>> fetchAllAsync(Map<String, String> namesByKey) {
+        Map<String, CompletableFuture<RarityInfo>> futures = new HashMap<>();
+        Map<String, CompletableFuture<RarityInfo>> owned = new LinkedHashMap<>();
+        Map<String, String> toFetch = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        
+        for (Map.Entry<String, String> entry : namesByKey.entrySet()) {
+            String lowerName = entry.getKey();
+            Long retryAt = failedUntil.get(lowerName);
+            if (retryAt != null) {
+                if (now < retryAt) {
+                    futures.put(lowerName, CompletableFuture.completedFuture(mapRarityToInfo(null, lowerName)));
+                    continue;
+                }
+                failedUntil.remove(lowerName, retryAt);
+            }
+            
+            CompletableFuture<RarityInfo> future = new CompletableFuture<>();
+            CompletableFuture<RarityInfo> existing = inFlight.putIfAbsent(lowerName, future);
+            if (existing != null) {
+                futures.put(lowerName, existing);
+            } else {
+                futures.put(lowerName, future);
+                owned.put(lowerName, future);
+                toFetch.put(lowerName, entry.getValue());
+            }
+        }
+        if (owned.isEmpty()) {
+            return futures;
+        }
         
-        // Check cache first
-        RarityInfo cached = rarityCache.get(lowerName);
-        if (cached != null) {
+        try {
+            ioExecutor.execute(() -> {
+                Map<String, RarityInfo> results = Map.of();
+                try {
+                    results = fetchRarities(toFetch);
+                } catch (Exception e) {
+                    PokeAlertClient.LOGGER.error("Unexpected error fetching rarities: {}", e.getMessage());
+                } finally {
+                    completeAll(owned, results);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // I/O queue is full; don't queue unbounded work, just use the fallback
+            completeAll(owned, Map.of());
+        }
+        return futures;
+    }
+    
+    private static void completeAll(Map<String, CompletableFuture<RarityInfo>> owned, Map<String, RarityInfo> results) {
+        for (Map.Entry<String, CompletableFuture<RarityInfo>> entry : owned.entrySet()) {
+            String lowerName = entry.getKey();
+            RarityInfo info = results.get(lowerName);
+            entry.getValue().complete(info != null ? info : mapRarityToInfo(null, lowerName));
+            inFlight.remove(lowerName, entry.getValue());
+        }
+    }
+    
+    /**
+     * Get the rarity that is known without network access: the stored rarity if there is one,
+     * otherwise the species index fallback. Never blocks on the network.
+     * The mapped info is kept on the entry, so repeated calls for a species don't allocate.
+     */
+    public static RarityInfo getKnownRarity(SpeciesCatalog.Entry species) {
+        String rarity = species.getKnownRarity();
+        if (rarity.isEmpty()) {
+            rarity = SpawnPoolRarity.getRarity(species);
+        }
+        if (rarity == null) {
+            RarityStore.Entry stored = store.get(species.getRarityKey());
+            if (stored != null) {
+                if (stored.isExpired(ENTRY_TTL_MILLIS) && isScrapingEnabled()) {
+                    scheduleRefresh(species.getDisplayName(), stored);
+                }
+                rarity = stored.getRarity();
+            }
+        }
+
+        RarityInfo cached = species.rarityInfo;
+        if (cached != null && Objects.equals(cached.source, rarity)) {
             return cached;
         }
+        RarityInfo info = mapRarityToInfo(rarity, species.getCategories());
+        species.rarityInfo = info;
+        return info;
+    }
+    
+    /**
+     * Bundled or stored rarity, or null if the species has never been fetched.
+     * Stale entries are served and refreshed in the background.
+     */
+    private static RarityInfo getKnownRarity(String pokemonName, String lowerName) {
+        // Species whose rarity ships with the mod never need a lookup
+        SpeciesCatalog.Entry species = SpeciesCatalog.byName(lowerName);
+        if (species != null && !species.getKnownRarity().isEmpty()) {
+            return mapRarityToInfo(species.getKnownRarity(), lowerName);
+        }
         
-        // Try to scrape from Bulbapedia
-        String scrapedRarity = scrapeBulbapediaRarity(pokemonName);
+        // Then the bucket it spawns in on this world, when the spawn pool is available
+        String spawnRarity = SpawnPoolRarity.getRarity(lowerName);
+        if (spawnRarity != null) {
+            return mapRarityToInfo(spawnRarity, lowerName);
+        }
         
-        // Map scraped rarity to RarityInfo
-        RarityInfo rarityInfo = mapRarityToInfo(scrapedRarity, lowerName);
+        RarityStore.Entry stored = store.get(lowerName);
+        if (stored == null) {
+            return null;
+        }
+        if (stored.isExpired(ENTRY_TTL_MILLIS) && isScrapingEnabled()) {
+            scheduleRefresh(pokemonName, stored);
+        }
+        return mapRarityToInfo(stored.getRarity(), lowerName);
+    }
+    
+    /**
+     * Fetch and persist the rarity of several species. Runs on the I/O pool.
+     */
+    private static Map<String, RarityInfo> fetchRarities(Map<String, String> namesByKey) {
+        Map<String, ScrapeResult> fetched = guardedFetch(namesByKey);
+        Map<String, RarityInfo> results = new HashMap<>();
+        long now = System.currentTimeMillis();
         
-        // Cache the result
-        rarityCache.put(lowerName, rarityInfo);
+        for (String lowerName : namesByKey.keySet()) {
+            ScrapeResult result = fetched.get(lowerName);
+            if (result == null) {
+                // Fetch failed or was skipped; use the fallback and only retry after a while
+                failedUntil.put(lowerName, now + NEGATIVE_TTL_MILLIS);
+                results.put(lowerName, mapRarityToInfo(null, lowerName));
+                continue;
+            }
+            
+            // Persist the result (including "no rarity on the page")
+            store.put(new RarityStore.Entry(lowerName, result.rarity, now, result.etag, result.lastModified));
+            results.put(lowerName, mapRarityToInfo(result.rarity, lowerName));
+        }
+        return results;
+    }
+    
+    /**
+     * Fetch rarities through the circuit breaker, via the MediaWiki API when configured
+     * and by scraping species pages otherwise
+     * @return a result per cache key; keys that failed are left out
+     */
+    private static Map<String, ScrapeResult> guardedFetch(Map<String, String> namesByKey) {
+        Map<String, ScrapeResult> results = new HashMap<>();
+        if (!isApiEnabled()) {
+            for (Map.Entry<String, String> entry : namesByKey.entrySet()) {
+                ScrapeResult result = guardedScrape(entry.getValue(), null);
+                if (result != null) {
+                    results.put(entry.getKey(), result);
+                }
+            }
+            return results;
+        }
         
-        return rarityInfo;
+        if (!breaker.tryAcquire()) {
+            PokeAlertClient.LOGGER.debug("Skipping rarity lookup for {} species, Bulbapedia circuit is open", namesByKey.size());
+            return results;
+        }
+        try {
+            Map<String, BulbapediaApi.PageRarity> rarities = api.fetchRarities(ConfigManager.getConfig().rarityApiUrl, namesByKey.values());
+            breaker.recordSuccess();
+            for (Map.Entry<String, String> entry : namesByKey.entrySet()) {
+                BulbapediaApi.PageRarity page = rarities.get(entry.getValue());
+                if (page != null) {
+                    String rarity = page.getRarity().isEmpty() ? null : page.getRarity();
+                    results.put(entry.getKey(), new ScrapeResult(rarity, toValidator(page.getRevision()), null, false));
+                }
+            }
+        } catch (IOException e) {
+            breaker.recordFailure();
+            PokeAlertClient.LOGGER.error("Failed to look up rarity for {} species: {}", namesByKey.size(), e.getMessage());
+        }
+        return results;
     }
     
     /**
-     * Get rarity as a simple string (for Telegram notifications)
+     * Whether Bulbapedia is used at all for species without a bundled or spawn pool rarity
      */
-    public static String getPokemonRarityText(String pokemonName) {
-        RarityInfo info = getPokemonRarity(pokemonName);
-        return info.getName();
+    private static boolean isScrapingEnabled() {
+        return ConfigManager.getConfig().rarityScrapingEnabled;
     }
     
     /**
-     * Generate Bulbapedia URL for a Pokemon
+     * Whether rarities are looked up through the MediaWiki API (otherwise pages are scraped)
      */
-    public static String generateBulbapediaUrl(String pokemonName) {
+    private static boolean isApiEnabled() {
+        String apiUrl = ConfigManager.getConfig().rarityApiUrl;
+        return apiUrl != null && !apiUrl.isBlank();
+    }
+    
+    private static String toKey(String pokemonName) {
+        return pokemonName.toLowerCase().replace(" ", "-");
+    }
+    
+    /**
+     * Revalidate an expired entry off-thread. Through the API this compares the page
+     * revision the rarity was read from; page scraping uses a conditional request.
+     */
+    private static void scheduleRefresh(String pokemonName, RarityStore.Entry stored) {
+        if (!refreshing.add(stored.getKey())) {
+            return; // Already queued
+        }
         try {
-            // Capitalize first letter
-            String formattedName = pokemonName.substring(0, 1).toUpperCase() + pokemonName.substring(1).toLowerCase();
-            // URL encode the name
-            String encodedName = URLEncoder.encode(formattedName, StandardCharsets.UTF_8);
-            return String.format("https://bulbapedia.bulbagarden.net/wiki/%s_(Pokémon)", encodedName);
-        } catch (Exception e) {
-            PokeAlertClient.LOGGER.error("Failed to generate Bulbapedia URL for: {}", pokemonName, e);
-            return "https://bulbapedia.bulbagarden.net/wiki/List_of_Pokémon_by_National_Pokédex_number";
+            ioExecutor.execute(() -> {
+                try {
+                    if (isApiEnabled()) {
+                        revalidateThroughApi(pokemonName, stored);
+                        return;
+                    }
+                    ScrapeResult result = guardedScrape(pokemonName, stored);
+                    if (result == null) {
+                        return; // Keep serving the stale value
+                    }
+                    if (result.notModified) {
+                        store.put(stored.touch());
+                        PokeAlertClient.LOGGER.debug("Rarity for {} not modified", pokemonName);
+                    } else {
+                        store.put(new RarityStore.Entry(stored.getKey(), result.rarity, System.currentTimeMillis(), result.etag, result.lastModified));
+                    }
+                } finally {
+                    refreshing.remove(stored.getKey());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // I/O pool is busy; try again next time the entry is read
+            refreshing.remove(stored.getKey());
+        }
+    }
+    
+    /**
+     * Ask the API for the page's current revision only, and fetch the rarity again
+     * if it changed since the stored value was read. Runs on the I/O pool.
+     */
+    private static void revalidateThroughApi(String pokemonName, RarityStore.Entry stored) {
+        if (isRevisionValidator(stored.getEtag())) {
+            if (!breaker.tryAcquire()) {
+                return; // Keep serving the stale value
+            }
+            Long revision;
+            try {
+                revision = api.fetchRevisions(ConfigManager.getConfig().rarityApiUrl, List.of(pokemonName)).get(pokemonName);
+                breaker.recordSuccess();
+            } catch (IOException e) {
+                breaker.recordFailure();
+                PokeAlertClient.LOGGER.error("Failed to revalidate rarity for {}: {}", pokemonName, e.getMessage());
+                return;
+            }
+            if (revision != null && toValidator(revision).equals(stored.getEtag())) {
+                store.put(stored.touch());
+                PokeAlertClient.LOGGER.debug("Rarity for {} not modified", pokemonName);
+                return;
+            }
+        }
+        // Changed, or stored before revisions were recorded; a failed fetch keeps the stale value
+        Map<String, ScrapeResult> fetched = guardedFetch(Map.of(stored.getKey(), pokemonName));
+        ScrapeResult result = fetched.get(stored.getKey());
+        if (result != null) {
+            store.put(new RarityStore.Entry(stored.getKey(), result.rarity, System.currentTimeMillis(), result.etag, result.lastModified));
+        }
+    }
+    
+    /**
+     * API results store the page revision where page scrapes store the HTTP ETag;
+     * the prefix keeps the two apart when the lookup mode is switched
+     */
+    private static String toValidator(long revision) {
+        return revision > 0 ? REVISION_VALIDATOR_PREFIX + revision : null;
+    }
+    
+    private static boolean isRevisionValidator(String etag) {
+        return etag.startsWith(REVISION_VALIDATOR_PREFIX);
+    }
+    
+    /**
+     * Scrape through the circuit breaker
+     * @return the result, or null if the scrape failed or the circuit is open
+     */
+    private static ScrapeResult guardedScrape(String pokemonName, RarityStore.Entry previous) {
+        if (!breaker.tryAcquire()) {
+            PokeAlertClient.LOGGER.debug("Skipping rarity scrape for {}, Bulbapedia circuit is open", pokemonName);
+            return null;
+        }
+        ScrapeResult result = scrapeBulbapediaRarity(pokemonName, previous);
+        if (result == null) {
+            breaker.recordFailure();
+        } else {
+            breaker.recordSuccess();
         }
+        return result;
     }
     
     /**
-     * Scrape rarity information from Bulbapedia
+     * Scrape rarity information from Bulbapedia.
+     * If a previous entry is given, its validators are sent so an unchanged page costs a 304.
+     * @return the scrape result, or null if the page could not be fetched
      */
-    private static String scrapeBulbapediaRarity(String pokemonName) {
-        String url = generateBulbapediaUrl(pokemonName);
+    private static ScrapeResult scrapeBulbapediaRarity(String pokemonName, RarityStore.Entry previous) {
+        String url = SpeciesCatalog.intern(pokemonName).getBulbapediaUrl();
         
         try {
             PokeAlertClient.LOGGER.debug("Scraping rarity for {} from {}", pokemonName, url);
             
-            // Fetch the page with timeout
-            Document doc = Jsoup.connect(url)
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
-                .timeout(5000)
-                .get();
-            
-            // Look for rarity in the page
-            // Pattern: <td>Rarity: Rare</td>
-            for (Element element : doc.select("td")) {
-                String text = element.text();
-                if (text.startsWith("Rarity:")) {
-                    String rarity = text.substring(8).trim(); // Remove "Rarity: " prefix
-                    PokeAlertClient.LOGGER.debug("Found rarity for {}: {}", pokemonName, rarity);
-                    return rarity;
+            // Fetch the page over the shared transport (pooled, usually already-open connection)
+            Request.Builder request = new Request.Builder()
+                .url(url)
+                .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
+            if (previous != null) {
+                if (!previous.getEtag().isEmpty()) {
+                    request.header("If-None-Match", previous.getEtag());
+                }
+                if (!previous.getLastModified().isEmpty()) {
+                    request.header("If-Modified-Since", previous.getLastModified());
                 }
             }
-            
-            // Check for legendary/mythical status in categories
-            for (Element element : doc.select("a[title*='Category:']")) {
-                String title = element.attr("title");
-                if (title.contains("Legendary Pokémon")) {
-                    return "Legendary";
-                } else if (title.contains("Mythical Pokémon")) {
-                    return "Mythical";
-                } else if (title.contains("Ultra Beasts")) {
-                    return "Ultra Beast";
-                } else if (title.contains("Paradox Pokémon")) {
-                    return "Paradox";
+            try (Response response = scrapeClient.newCall(request.build()).execute()) {
+                String etag = response.header("ETag");
+                String lastModified = response.header("Last-Modified");
+                
+                if (response.code() == 304) {
+                    return new ScrapeResult(null, etag, lastModified, true);
                 }
+                ResponseBody body = response.body();
+                if (response.code() != 200 || body == null) {
+                    PokeAlertClient.LOGGER.error("Failed to scrape rarity for {}: HTTP {}", pokemonName, response.code());
+                    return null; // Will trigger fallback
+                }
+                
+                return new ScrapeResult(findRarity(body, url, pokemonName), etag, lastModified, false);
             }
             
-            PokeAlertClient.LOGGER.warn("Rarity not found for {} on Bulbapedia, using fallback", pokemonName);
-            return null; // Will trigger fallback
-            
         } catch (IOException e) {
             PokeAlertClient.LOGGER.error("Failed to scrape rarity for {}: {}", pokemonName, e.getMessage());
             return null; // Will trigger fallback
@@ -145,46 +593,69 @@ public class RarityScraper {
         }
     }
     
+    /**
+     * Find the rarity on a species page while it is still downloading
+     * @return the rarity, or null if the page has none
+     */
+    private static String findRarity(ResponseBody body, String url, String pokemonName) throws IOException {
+        String rarity = RarityPage.findRarity(body.charStream(), url);
+        if (rarity != null) {
+            PokeAlertClient.LOGGER.debug("Found rarity for {}: {}", pokemonName, rarity);
+        } else {
+            PokeAlertClient.LOGGER.warn("Rarity not found for {} on Bulbapedia, using fallback", pokemonName);
+        }
+        return rarity; // Null will trigger fallback
+    }
+    
     /**
      * Map rarity string to RarityInfo with color
      */
     private static RarityInfo mapRarityToInfo(String scrapedRarity, String pokemonNameLower) {
+        return mapRarityToInfo(scrapedRarity, SpeciesCatalog.getCategories(pokemonNameLower));
+    }
+
+    /**
+     * @param categories The species' categories, for the fallback when there is no rarity
+     */
+    private static RarityInfo mapRarityToInfo(String scrapedRarity, int categories) {
         // If scraping succeeded, map to appropriate color
         if (scrapedRarity != null && !scrapedRarity.isEmpty()) {
             String rarityLower = scrapedRarity.toLowerCase();
             
             if (rarityLower.contains("legendary")) {
-                return new RarityInfo("Legendary", Formatting.GOLD);
+                return new RarityInfo("Legendary", Formatting.GOLD, scrapedRarity);
             } else if (rarityLower.contains("mythical")) {
-                return new RarityInfo("Mythical", Formatting.DARK_PURPLE);
+                return new RarityInfo("Mythical", Formatting.DARK_PURPLE, scrapedRarity);
             } else if (rarityLower.contains("ultra beast")) {
-                return new RarityInfo("Ultra Beast", Formatting.DARK_AQUA);
+                return new RarityInfo("Ultra Beast", Formatting.DARK_AQUA, scrapedRarity);
             } else if (rarityLower.contains("paradox")) {
-                return new RarityInfo("Paradox", Formatting.DARK_RED);
+                return new RarityInfo("Paradox", Formatting.DARK_RED, scrapedRarity);
+            } else if (rarityLower.contains("ultra rare")) {
+                return new RarityInfo(scrapedRarity, Formatting.LIGHT_PURPLE, scrapedRarity);
             } else if (rarityLower.contains("rare") || rarityLower.contains("very rare")) {
-                return new RarityInfo(scrapedRarity, Formatting.YELLOW);
+                return new RarityInfo(scrapedRarity, Formatting.YELLOW, scrapedRarity);
             } else if (rarityLower.contains("uncommon")) {
-                return new RarityInfo(scrapedRarity, Formatting.GREEN);
+                return new RarityInfo(scrapedRarity, Formatting.GREEN, scrapedRarity);
             } else if (rarityLower.contains("common")) {
-                return new RarityInfo(scrapedRarity, Formatting.GRAY);
+                return new RarityInfo(scrapedRarity, Formatting.GRAY, scrapedRarity);
             } else {
                 // Use the scraped value as-is with a default color
-                return new RarityInfo(scrapedRarity, Formatting.WHITE);
+                return new RarityInfo(scrapedRarity, Formatting.WHITE, scrapedRarity);
             }
         }
         
-        // Fallback to predefined lists if scraping failed
-        if (Arrays.asList(PokemonLists.legendaries).contains(pokemonNameLower)) {
+        // Fallback to the bundled species index if scraping failed
+        if ((categories & SpeciesCatalog.LEGENDARY) != 0) {
             return new RarityInfo("Legendary", Formatting.GOLD);
-        } else if (Arrays.asList(PokemonLists.mythics).contains(pokemonNameLower)) {
+        } else if ((categories & SpeciesCatalog.MYTHICAL) != 0) {
             return new RarityInfo("Mythical", Formatting.DARK_PURPLE);
-        } else if (Arrays.asList(PokemonLists.ultra_beasts).contains(pokemonNameLower)) {
+        } else if ((categories & SpeciesCatalog.ULTRA_BEAST) != 0) {
             return new RarityInfo("Ultra Beast", Formatting.DARK_AQUA);
-        } else if (Arrays.asList(PokemonLists.paradox_mons).contains(pokemonNameLower)) {
+        } else if ((categories & SpeciesCatalog.PARADOX) != 0) {
             return new RarityInfo("Paradox", Formatting.DARK_RED);
-        } else if (Arrays.asList(PokemonLists.starter).contains(pokemonNameLower)) {
+        } else if ((categories & SpeciesCatalog.STARTER) != 0) {
             return new RarityInfo("Starter", Formatting.GREEN);
-        } else if (Arrays.asList(PokemonLists.babies).contains(pokemonNameLower)) {
+        } else if ((categories & SpeciesCatalog.BABY) != 0) {
             return new RarityInfo("Baby", Formatting.AQUA);
         } else {
             // Default fallback
@@ -193,9 +664,51 @@ public class RarityScraper {
     }
     
     /**
-     * Clear the rarity cache (useful for testing or refresh)
+     * Flush and close the persistent rarity store. Called when the client stops.
+     */
+    public static void shutdown() {
+        store.close();
+    }
+    
+    /**
+     * Number of species with a persisted rarity
+     */
+    public static int getStoredCount() {
+        return store.size();
+    }
+    
+    /**
+     * Lookups answered without a fetch (bundled or stored rarity)
+     */
+    public static long getHitCount() {
+        return hits.get();
+    }
+    
+    /**
+     * Lookups that had to wait on a fetch
+     */
+    public static long getMissCount() {
+        return misses.get();
+    }
+    
+    public static int getPrewarmDone() {
+        return prewarmDone.get();
+    }
+    
+    public static int getPrewarmTotal() {
+        return prewarmTotal.get();
+    }
+    
+    public static CircuitBreaker getCircuitBreaker() {
+        return breaker;
+    }
+    
+    /**
+     * Number of species currently skipped after a failed scrape
      */
-    public static void clearCache() {
-        rarityCache.clear();
+    public static int getFailedCount() {
+        long now = System.currentTimeMillis();
+        failedUntil.values().removeIf(until -> until <= now);
+        return failedUntil.size();
     }
 }
@@ -0,0 +1,265 @@
+package com.afiqhasiff.pokealert.client.util;
+
+import com.afiqhasiff.pokealert.client.PokeAlertClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent, append-only store of scraped rarities.
+ * Every update is appended as a new record and the latest record for a key wins,
+ * so a crash can at worst lose the record being written. On startup the file is
+ * scanned into an in-memory index (and compacted if it holds many superseded records).
+ * There is at most one small entry per species, so the whole index stays in memory:
+ * reads never touch the disk or take a lock, which matters because they come from the
+ * client thread. Appends are handed to a single writer thread.
+ * File location: config/pokealert-rarity.dat
+ */
+public class RarityStore {
+    private static final int MAGIC = 0x504B5253; // "PKRS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    // How long close() waits for queued appends
+    private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+    /**
+     * A stored rarity together with the validators needed to revalidate it
+     * (HTTP ETag and Last-Modified for scraped pages, the page revision for API lookups)
+     */
+    public static class Entry {
+        private final String key;
+        private final String rarity;
+        private final long fetchedAt;
+        private final String etag;
+        private final String lastModified;
+
+        public Entry(String key, String rarity, long fetchedAt, String etag, String lastModified) {
+            this.key = key;
+            this.rarity = rarity == null ? "" : rarity;
+            this.fetchedAt = fetchedAt;
+            this.etag = etag == null ? "" : etag;
+            this.lastModified = lastModified == null ? "" : lastModified;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * The scraped rarity, or an empty string if the page had none
+         */
+        public String getRarity() {
+            return rarity;
+        }
+
+        public long getFetchedAt() {
+            return fetchedAt;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - fetchedAt > ttlMillis;
+        }
+
+        /**
+         * Same data, revalidated now (e.g. after a 304 Not Modified)
+         */
+        public Entry touch() {
+            return new Entry(key, rarity, System.currentTimeMillis(), etag, lastModified);
+        }
+    }
+
+    private final File file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "PokeAlert-RarityStore");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Only touched by load() and then the writer thread
+    private RandomAccessFile data;
+
+    public RarityStore(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Open the store, reading the existing file into the index
+     */
+    public synchronized void load() {
+        try {
+            data = new RandomAccessFile(file, "rw");
+            if (data.length() < HEADER_SIZE) {
+                writeHeader();
+            } else if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+                PokeAlertClient.LOGGER.warn("Unrecognized rarity cache format, starting fresh");
+                writeHeader();
+            }
+
+            int records = scan();
+            PokeAlertClient.LOGGER.info("Loaded {} cached rarities from {}", entries.size(), file.getName());
+
+            // Compact once superseded records dominate the file
+            if (records > 64 && records > entries.size() * 2) {
+                compact();
+            }
+        } catch (IOException e) {
+            PokeAlertClient.LOGGER.error("Failed to open rarity cache, continuing without persistence", e);
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Look up a stored entry. Never blocks.
+     */
+    public Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Store an entry; it is visible immediately and appended to the file in the background
+     */
+    public void put(Entry entry) {
+        entries.put(entry.getKey(), entry);
+        try {
+            writer.execute(() -> append(entry));
+        } catch (RejectedExecutionException e) {
+            // Closed; the entry is still served from memory for the rest of the session
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Write out queued appends and close the file
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                PokeAlertClient.LOGGER.warn("Timed out writing the rarity cache; the last updates may be lost");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            closeQuietly();
+        }
+    }
+
+    private synchronized void append(Entry entry) {
+        if (data == null) {
+            return;
+        }
+        try {
+            data.seek(data.length());
+            data.write(encode(entry));
+        } catch (IOException e) {
+            PokeAlertClient.LOGGER.error("Failed to persist rarity for {}: {}", entry.getKey(), e.getMessage());
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        data.setLength(0);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+    }
+
+    /**
+     * Index every record in the file; a truncated trailing record is cut off
+     * @return number of records read
+     */
+    private int scan() throws IOException {
+        int records = 0;
+        long offset = HEADER_SIZE;
+        data.seek(offset);
+        try {
+            while (offset < data.length()) {
+                Entry entry = readRecord();
+                entries.put(entry.getKey(), entry);
+                offset = data.getFilePointer();
+                records++;
+            }
+        } catch (IOException e) {
+            // EOF or garbled UTF from an interrupted write
+            PokeAlertClient.LOGGER.warn("Discarding truncated record at the end of {}", file.getName());
+            data.setLength(offset);
+        }
+        return records;
+    }
+
+    /**
+     * Rewrite the file with only the latest record per key
+     */
+    private void compact() throws IOException {
+        File compacted = new File(file.getPath() + ".tmp");
+        try (RandomAccessFile out = new RandomAccessFile(compacted, "rw")) {
+            out.setLength(0);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (Entry entry : entries.values()) {
+                out.write(encode(entry));
+            }
+        }
+
+        data.close();
+        Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        data = new RandomAccessFile(file, "rw");
+        PokeAlertClient.LOGGER.info("Compacted rarity cache to {} entries", entries.size());
+    }
+
+    private Entry readRecord() throws IOException {
+        String key = data.readUTF();
+        String rarity = data.readUTF();
+        long fetchedAt = data.readLong();
+        String etag = data.readUTF();
+        String lastModified = data.readUTF();
+        return new Entry(key, rarity, fetchedAt, etag, lastModified);
+    }
+
+    /**
+     * Encode a whole record up front so it is appended with a single write
+     */
+    private static byte[] encode(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getRarity());
+            out.writeLong(entry.getFetchedAt());
+            out.writeUTF(entry.getEtag());
+            out.writeUTF(entry.getLastModified());
+        }
+        return bytes.toByteArray();
+    }
+
+    private void closeQuietly() {
+        if (data != null) {
+            try {
+                data.close();
+            } catch (IOException ignored) {
+                // Nothing useful to do
+            }
+            data = null;
+        }
+    }
+}
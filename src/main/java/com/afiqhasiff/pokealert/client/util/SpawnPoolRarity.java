@@ -0,0 +1,104 @@
+package com.afiqhasiff.pokealert.client.util;
+
+import com.afiqhasiff.pokealert.client.PokeAlertClient;
+import com.afiqhasiff.pokealert.client.detection.SpawnFilter;
+import com.cobblemon.mod.common.api.spawning.CobblemonSpawnPools;
+import com.cobblemon.mod.common.api.spawning.SpawnBucket;
+import com.cobblemon.mod.common.api.spawning.SpawnPool;
+import com.cobblemon.mod.common.api.spawning.detail.PokemonSpawnDetail;
+import com.cobblemon.mod.common.api.spawning.detail.SpawnDetail;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rarity derived from Cobblemon's own spawn pool: the spawn bucket a species
+ * spawns in (common, uncommon, rare, ultra-rare) is what rarity means in-game,
+ * and unlike Bulbapedia it reflects the modpack's actual spawn data.
+ * The index is built once the spawn pool is loaded (in singleplayer and on LAN hosts;
+ * a remote server doesn't send its spawn pool to clients) and is then an O(1) map
+ * lookup with no I/O.
+ */
+public final class SpawnPoolRarity {
+    // Normalized species name -> rarity name of the most common bucket it spawns in
+    private static volatile Map<String, String> raritiesBySpecies = Map.of();
+
+    private SpawnPoolRarity() {
+    }
+
+    /**
+     * Rebuild the index from the currently loaded spawn pool.
+     * Leaves the index empty if no spawn pool is available.
+     */
+    public static void rebuild() {
+        SpawnPool pool = CobblemonSpawnPools.WORLD_SPAWN_POOL;
+        if (pool == null) {
+            raritiesBySpecies = Map.of();
+            return;
+        }
+
+        Map<String, SpawnBucket> index = new HashMap<>();
+        try {
+            for (SpawnDetail detail : pool.getDetails()) {
+                if (!(detail instanceof PokemonSpawnDetail pokemonDetail)) {
+                    continue;
+                }
+                String species = pokemonDetail.getPokemon().getSpecies();
+                if (species == null) {
+                    continue;
+                }
+                // A species listed in several buckets counts as its most common one
+                index.merge(SpawnFilter.normalizeName(species), detail.getBucket(),
+                    (current, candidate) -> candidate.getWeight() > current.getWeight() ? candidate : current);
+            }
+        } catch (RuntimeException e) {
+            PokeAlertClient.LOGGER.error("Failed to index spawn pool rarities: {}", e.getMessage());
+            return;
+        }
+
+        // Format the bucket names once so lookups don't allocate
+        Map<String, String> rarities = new HashMap<>(index.size() * 2);
+        for (Map.Entry<String, SpawnBucket> entry : index.entrySet()) {
+            rarities.put(entry.getKey(), formatBucketName(entry.getValue().getName()).intern());
+        }
+        raritiesBySpecies = rarities;
+        PokeAlertClient.LOGGER.info("Indexed spawn rarity for {} species from the spawn pool", rarities.size());
+    }
+
+    /**
+     * The spawn bucket of a species as a rarity name ("Common", "Ultra Rare", ...)
+     * @return the rarity, or null if the species isn't in the loaded spawn pool
+     */
+    public static String getRarity(String pokemonName) {
+        return raritiesBySpecies.get(SpawnFilter.normalizeName(pokemonName));
+    }
+
+    /**
+     * {@link #getRarity(String)} for a catalog entry, without normalizing the name again
+     */
+    public static String getRarity(SpeciesCatalog.Entry species) {
+        return raritiesBySpecies.get(species.getNormalizedName());
+    }
+
+    public static int size() {
+        return raritiesBySpecies.size();
+    }
+
+    /**
+     * "ultra-rare" -> "Ultra Rare"
+     */
+    private static String formatBucketName(String bucketName) {
+        StringBuilder formatted = new StringBuilder(bucketName.length());
+        boolean capitalize = true;
+        for (char c : bucketName.toCharArray()) {
+            if (c == '-' || c == '_' || c == ' ') {
+                formatted.append(' ');
+                capitalize = true;
+            } else {
+                formatted.append(capitalize ? Character.toUpperCase(c) : c);
+                capitalize = false;
+            }
+        }
+        return formatted.toString();
+    }
+}
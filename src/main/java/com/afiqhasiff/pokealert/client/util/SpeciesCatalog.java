@@ -0,0 +1,289 @@
+package com.afiqhasiff.pokealert.client.util;
+
+import com.afiqhasiff.pokealert.client.PokeAlertClient;
+import com.afiqhasiff.pokealert.client.detection.SpawnFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single source of species data: categories, display names, known rarities and
+ * Bulbapedia URLs. Generated at build time from src/main/data/species.tsv
+ * (see the generateSpeciesIndex task in build.gradle).
+ * The resource is read in one go on startup into a table indexed by national Pokedex
+ * number and a map keyed by normalized name, so lookups are O(1) and never need
+ * network access. Every species has exactly one {@link Entry}; species outside the
+ * bundled data get one (without categories) the first time they are interned.
+ */
+public final class SpeciesCatalog {
+    private static final String RESOURCE = "/assets/pokealert/species.bin";
+    private static final int MAGIC = 0x504B5350; // "PKSP"
+    private static final int VERSION = 1;
+
+    // Category bits, must match the generateSpeciesIndex task
+    public static final int LEGENDARY = 1;
+    public static final int MYTHICAL = 1 << 1;
+    public static final int ULTRA_BEAST = 1 << 2;
+    public static final int PARADOX = 1 << 3;
+    public static final int STARTER = 1 << 4;
+    public static final int BABY = 1 << 5;
+    public static final int CATEGORY_COUNT = 6;
+
+    private static final String BULBAPEDIA_URL = "https://bulbapedia.bulbagarden.net/wiki/";
+    private static final String BULBAPEDIA_FALLBACK_URL = BULBAPEDIA_URL + "List_of_Pokémon_by_National_Pokédex_number";
+
+    /**
+     * One species from the bundled index
+     */
+    public static final class Entry {
+        private final int dex;
+        private final String key;
+        private final String displayName;
+        private final int categories;
+        private final String knownRarity;
+        private final String bulbapediaTitle;
+        private final String bulbapediaUrl;
+        private final String normalizedName;
+        private final String rarityKey;
+        // Last rarity mapped for this species, reused while its source rarity is unchanged
+        volatile RarityScraper.RarityInfo rarityInfo;
+
+        private Entry(int dex, String key, String displayName, int categories, String knownRarity) {
+            this.dex = dex;
+            this.key = key;
+            this.displayName = displayName;
+            this.categories = categories;
+            this.knownRarity = knownRarity;
+            this.bulbapediaTitle = displayName + " (Pokémon)";
+            this.bulbapediaUrl = toBulbapediaUrl(displayName);
+            this.normalizedName = SpawnFilter.normalizeName(key);
+            this.rarityKey = displayName.toLowerCase().replace(" ", "-");
+        }
+
+        public int getDex() {
+            return dex;
+        }
+
+        /**
+         * Lowercase pokeapi name, e.g. "ho-oh"
+         */
+        public String getKey() {
+            return key;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * The key as {@link SpawnFilter#normalizeName} gives it, e.g. "hooh"
+         */
+        public String getNormalizedName() {
+            return normalizedName;
+        }
+
+        /**
+         * Key of the species in the persistent rarity store, e.g. "mr.-mime"
+         */
+        String getRarityKey() {
+            return rarityKey;
+        }
+
+        public int getCategories() {
+            return categories;
+        }
+
+        public boolean hasCategory(int category) {
+            return (categories & category) != 0;
+        }
+
+        /**
+         * Rarity known without scraping, or an empty string if it has to be looked up
+         */
+        public String getKnownRarity() {
+            return knownRarity;
+        }
+
+        /**
+         * Bulbapedia article title, e.g. "Ho-Oh (Pokémon)"
+         */
+        public String getBulbapediaTitle() {
+            return bulbapediaTitle;
+        }
+
+        /**
+         * Bulbapedia article URL, built once per species
+         */
+        public String getBulbapediaUrl() {
+            return bulbapediaUrl;
+        }
+    }
+
+    private static volatile Entry[] byDex = new Entry[0];
+    private static volatile Map<String, Entry> byName = Map.of();
+    private static volatile int size;
+    // Species per category bit, in dex order
+    private static volatile List<Entry>[] byCategory = emptyCategories();
+    // Entries created for species outside the bundled data, by normalized name
+    private static final Map<String, Entry> interned = new ConcurrentHashMap<>();
+
+    private SpeciesCatalog() {
+    }
+
+    /**
+     * Load the bundled index. Missing or corrupt data leaves the catalog empty.
+     */
+    public static void initialize() {
+        try (InputStream in = SpeciesCatalog.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                PokeAlertClient.LOGGER.warn("Species index {} is missing from the jar", RESOURCE);
+                return;
+            }
+            load(in.readAllBytes());
+        } catch (IOException e) {
+            PokeAlertClient.LOGGER.error("Failed to load species index: {}", e.getMessage());
+        }
+    }
+
+    private static void load(byte[] bytes) throws IOException {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw new IOException("unrecognized format");
+        }
+
+        int count = data.readInt();
+        Entry[] entries = new Entry[count];
+        int maxDex = 0;
+        for (int i = 0; i < count; i++) {
+            int dex = data.readUnsignedShort();
+            String key = data.readUTF();
+            String displayName = data.readUTF();
+            int categories = data.readUnsignedByte();
+            String knownRarity = data.readUTF();
+            entries[i] = new Entry(dex, key, displayName, categories, knownRarity);
+            maxDex = Math.max(maxDex, dex);
+        }
+
+        Arrays.sort(entries, (a, b) -> Integer.compare(a.dex, b.dex));
+        Entry[] dexTable = new Entry[maxDex + 1];
+        Map<String, Entry> nameTable = new HashMap<>(count * 2);
+        List<Entry>[] categoryTable = emptyCategories();
+        for (Entry entry : entries) {
+            dexTable[entry.dex] = entry;
+            nameTable.put(SpawnFilter.normalizeName(entry.key), entry);
+            nameTable.putIfAbsent(SpawnFilter.normalizeName(entry.displayName), entry);
+            for (int bit = 0; bit < CATEGORY_COUNT; bit++) {
+                if ((entry.categories & (1 << bit)) != 0) {
+                    categoryTable[bit].add(entry);
+                }
+            }
+        }
+        for (int bit = 0; bit < CATEGORY_COUNT; bit++) {
+            categoryTable[bit] = List.copyOf(categoryTable[bit]);
+        }
+
+        byDex = dexTable;
+        byName = nameTable;
+        byCategory = categoryTable;
+        size = count;
+        PokeAlertClient.LOGGER.info("Loaded species index with {} entries", count);
+    }
+
+    /**
+     * Look up a species by national Pokedex number
+     * @return the entry, or null if the species is not in the index
+     */
+    public static Entry byDex(int dex) {
+        Entry[] table = byDex;
+        return dex > 0 && dex < table.length ? table[dex] : null;
+    }
+
+    /**
+     * Look up a species by any spelling of its name ("Ho-Oh", "ho-oh", "hooh")
+     * @return the entry, or null if the species is not in the index
+     */
+    public static Entry byName(String name) {
+        return byName.get(SpawnFilter.normalizeName(name));
+    }
+
+    /**
+     * The one entry for a species, creating it (without categories) if the species
+     * isn't in the bundled data
+     */
+    public static Entry intern(String name) {
+        String normalized = SpawnFilter.normalizeName(name);
+        Entry entry = byName.get(normalized);
+        if (entry != null) {
+            return entry;
+        }
+        return interned.computeIfAbsent(normalized, key -> new Entry(0, name.toLowerCase(), formatName(name), 0, ""));
+    }
+
+    /**
+     * The entry for a detected species: by dex number when the bundled data has it
+     * (no allocation), otherwise interned by name
+     */
+    public static Entry lookup(int dex, String name) {
+        Entry entry = byDex(dex);
+        return entry != null ? entry : intern(name);
+    }
+
+    /**
+     * All species in a category, in dex order
+     * @param category A single category bit, e.g. {@link #LEGENDARY}
+     */
+    public static List<Entry> getSpecies(int category) {
+        return byCategory[Integer.numberOfTrailingZeros(category)];
+    }
+
+    /**
+     * Categories a species belongs to, or 0 if it has none
+     */
+    public static int getCategories(String name) {
+        Entry entry = byName(name);
+        return entry != null ? entry.categories : 0;
+    }
+
+    /**
+     * Number of species in the index
+     */
+    public static int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Entry>[] emptyCategories() {
+        List<Entry>[] lists = new List[CATEGORY_COUNT];
+        for (int bit = 0; bit < CATEGORY_COUNT; bit++) {
+            lists[bit] = new ArrayList<>();
+        }
+        return lists;
+    }
+
+    /**
+     * Capitalize the first letter, e.g. "pikachu" -> "Pikachu"
+     */
+    private static String formatName(String name) {
+        return name.isEmpty() ? name : name.substring(0, 1).toUpperCase() + name.substring(1).toLowerCase();
+    }
+
+    private static String toBulbapediaUrl(String displayName) {
+        try {
+            String encodedName = URLEncoder.encode(displayName.replace(' ', '_'), StandardCharsets.UTF_8);
+            return BULBAPEDIA_URL + encodedName + "_(Pokémon)";
+        } catch (Exception e) {
+            PokeAlertClient.LOGGER.error("Failed to generate Bulbapedia URL for: {}", displayName, e);
+            return BULBAPEDIA_FALLBACK_URL;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.afiqhasiff.pokealert.client.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Lock-free token bucket refilled at a per-minute rate, with a full bucket's worth of burst.
+ * Implemented as a generic cell rate algorithm: the whole bucket state is a single
+ * "theoretical arrival time" updated by CAS, so any number of threads can acquire
+ * without locking. Callers can leave some tokens untouched (reserved for more important
+ * traffic), and the bucket can be paused as a whole, e.g. when the remote side asks
+ * to back off.
+ */
+public class TokenBucket {
+    private final IntSupplier permitsPerMinute;
+
+    // Time (nanos) at which the bucket is completely refilled
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+    private final AtomicLong pausedUntil = new AtomicLong(System.nanoTime());
+    private final AtomicLong waits = new AtomicLong();
+
+    /**
+     * @param permitsPerMinute Rate and burst size; read on every acquire so config changes apply immediately
+     */
+    public TokenBucket(IntSupplier permitsPerMinute) {
+        this.permitsPerMinute = permitsPerMinute;
+    }
+
+    /**
+     * Take a token if one is available beyond the reserved ones
+     * @param reserved Number of tokens that must remain in the bucket afterwards
+     * @return 0 if a token was taken, otherwise how many milliseconds until one may be
+     */
+    public long tryAcquire(int reserved) {
+        int perMinute = Math.max(1, permitsPerMinute.getAsInt());
+        long interval = TimeUnit.MINUTES.toNanos(1) / perMinute;
+        int burst = Math.max(1, perMinute - reserved);
+        long tolerance = interval * (burst - 1);
+
+        while (true) {
+            long now = System.nanoTime();
+            long paused = pausedUntil.get() - now;
+            if (paused > 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(paused));
+            }
+
+            long current = theoreticalArrival.get();
+            long arrival = Math.max(current, now);
+            long early = arrival - tolerance - now;
+            if (early > 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(early));
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Wait until a token is available beyond the reserved ones, then take it
+     */
+    public void acquire(int reserved) throws InterruptedException {
+        long wait;
+        while ((wait = tryAcquire(reserved)) > 0) {
+            waits.incrementAndGet();
+            Thread.sleep(wait);
+        }
+    }
+
+    /**
+     * Stop handing out tokens for the given time
+     */
+    public void pauseFor(long millis) {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        pausedUntil.accumulateAndGet(until, Math::max);
+    }
+
+    public boolean isPaused() {
+        return pausedUntil.get() - System.nanoTime() > 0;
+    }
+
+    /**
+     * Number of times a caller had to wait for a token
+     */
+    public long getWaitCount() {
+        return waits.get();
+    }
+}
@@ -0,0 +1,39 @@
+package com.afiqhasiff.pokealert.client;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Counts the bytes the current thread allocates while running some code.
+ * Needs a JVM with per-thread allocation accounting (HotSpot and derivatives);
+ * tests should skip themselves when {@link #isSupported()} is false.
+ */
+public final class Allocations {
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private Allocations() {
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Bytes allocated by the current thread while running the action, after one
+     * unmeasured run so that class loading and JIT compilation aren't counted
+     */
+    public static long measure(Runnable action) {
+        action.run();
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        action.run();
+        return THREADS.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+            && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        }
+        return null;
+    }
+}
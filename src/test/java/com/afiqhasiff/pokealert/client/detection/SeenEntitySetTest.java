@@ -0,0 +1,185 @@
+package com.afiqhasiff.pokealert.client.detection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeenEntitySetTest {
+    private static final long NO_EXPIRY = Long.MAX_VALUE / 2;
+
+    @Test
+    void reportsFirstSightingOnly() {
+        SeenEntitySet seen = new SeenEntitySet(16, NO_EXPIRY);
+
+        assertTrue(seen.add(1, 1, 10));
+        assertFalse(seen.add(1, 1, 20));
+        assertTrue(seen.add(1, 2, 30));
+        assertEquals(2, seen.size());
+        assertTrue(seen.contains(new UUID(1, 1)));
+        assertFalse(seen.contains(new UUID(2, 1)));
+    }
+
+    @Test
+    void sweepDropsExpiredEntries() {
+        SeenEntitySet seen = new SeenEntitySet(16, 1000);
+        seen.add(1, 1, 100);
+        seen.add(2, 2, 900);
+
+        // More than a quarter TTL since the last sweep, so this add sweeps first; cutoff is 1000
+        seen.add(3, 3, 2000);
+
+        assertFalse(seen.contains(new UUID(1, 1)));
+        assertFalse(seen.contains(new UUID(2, 2)));
+        assertTrue(seen.contains(new UUID(3, 3)));
+        assertEquals(1, seen.size());
+        assertEquals(2, seen.getEvictionCount());
+    }
+
+    @Test
+    void refreshedEntriesSurviveTheSweep() {
+        SeenEntitySet seen = new SeenEntitySet(16, 1000);
+        seen.add(1, 1, 100);
+        seen.add(2, 2, 100);
+        // Seen again, so it counts as recent
+        assertFalse(seen.add(1, 1, 400));
+
+        // Sweeps with cutoff 300
+        seen.add(3, 3, 1300);
+
+        assertTrue(seen.contains(new UUID(1, 1)));
+        assertFalse(seen.contains(new UUID(2, 2)));
+    }
+
+    @Test
+    void fullSetEvictsTheOlderHalf() {
+        SeenEntitySet seen = new SeenEntitySet(8, NO_EXPIRY);
+        for (int i = 1; i <= 8; i++) {
+            assertTrue(seen.add(i, i, i));
+        }
+
+        // Full, so the four oldest go to make room
+        assertTrue(seen.add(9, 9, 9));
+
+        for (int i = 1; i <= 4; i++) {
+            assertFalse(seen.contains(new UUID(i, i)), "entry " + i + " should be evicted");
+        }
+        for (int i = 5; i <= 9; i++) {
+            assertTrue(seen.contains(new UUID(i, i)), "entry " + i + " should be kept");
+        }
+        assertEquals(5, seen.size());
+        assertEquals(4, seen.getEvictionCount());
+    }
+
+    @Test
+    void entriesSeenAtOnceAreEvictedByCount() {
+        SeenEntitySet seen = new SeenEntitySet(8, NO_EXPIRY);
+        for (int i = 1; i <= 8; i++) {
+            seen.add(i, i, 5);
+        }
+
+        assertTrue(seen.add(9, 9, 5));
+
+        // Half of them stay, rather than all or none
+        assertEquals(5, seen.size());
+        assertEquals(4, seen.getEvictionCount());
+        assertTrue(seen.contains(new UUID(9, 9)));
+    }
+
+    @Test
+    void skewedAgesEvictTheOldestByCount() {
+        SeenEntitySet seen = new SeenEntitySet(8, NO_EXPIRY);
+        seen.add(1, 1, 1);
+        for (int i = 2; i <= 8; i++) {
+            seen.add(i, i, 1000 + i);
+        }
+
+        // One stale entry and a recent burst: the stale one goes along with the three oldest of the burst
+        assertTrue(seen.add(9, 9, 1009));
+
+        for (int i = 1; i <= 4; i++) {
+            assertFalse(seen.contains(new UUID(i, i)), "entry " + i + " should be evicted");
+        }
+        for (int i = 5; i <= 9; i++) {
+            assertTrue(seen.contains(new UUID(i, i)), "entry " + i + " should be kept");
+        }
+        assertEquals(5, seen.size());
+        assertEquals(4, seen.getEvictionCount());
+    }
+
+    @Test
+    void deletionKeepsProbeChainsIntact() {
+        SeenEntitySet seen = new SeenEntitySet(8, 1000);
+        List<long[]> chain = collidingKeys(seen.getTableSize(), 3, 3);
+
+        // All three share a home slot, so the second and third sit further along the chain
+        seen.add(chain.get(0)[0], chain.get(0)[1], 100);
+        seen.add(chain.get(1)[0], chain.get(1)[1], 800);
+        seen.add(chain.get(2)[0], chain.get(2)[1], 800);
+
+        // Sweeps with cutoff 500, removing the head of the chain
+        seen.add(chain.get(1)[0], chain.get(1)[1], 1500);
+
+        assertFalse(seen.contains(uuid(chain.get(0))));
+        assertTrue(seen.contains(uuid(chain.get(1))));
+        assertTrue(seen.contains(uuid(chain.get(2))));
+        assertEquals(2, seen.size());
+    }
+
+    @Test
+    void deletionKeepsChainsThatWrapAroundIntact() {
+        SeenEntitySet seen = new SeenEntitySet(8, 1000);
+        int lastSlot = seen.getTableSize() - 1;
+        // Home in the last slot, so the chain continues at slot 0
+        List<long[]> wrapping = collidingKeys(seen.getTableSize(), lastSlot, 3);
+        // Home in slot 0, which the wrapped chain already occupies
+        long[] displaced = collidingKeys(seen.getTableSize(), 0, 1).get(0);
+
+        seen.add(wrapping.get(0)[0], wrapping.get(0)[1], 100);
+        seen.add(wrapping.get(1)[0], wrapping.get(1)[1], 100);
+        seen.add(wrapping.get(2)[0], wrapping.get(2)[1], 800);
+        seen.add(displaced[0], displaced[1], 800);
+
+        // Removes the first two entries of the wrapped chain
+        seen.add(wrapping.get(2)[0], wrapping.get(2)[1], 1500);
+
+        assertFalse(seen.contains(uuid(wrapping.get(0))));
+        assertFalse(seen.contains(uuid(wrapping.get(1))));
+        assertTrue(seen.contains(uuid(wrapping.get(2))));
+        assertTrue(seen.contains(uuid(displaced)));
+        assertEquals(2, seen.size());
+    }
+
+    @Test
+    void clearForgetsEverything() {
+        SeenEntitySet seen = new SeenEntitySet(8, NO_EXPIRY);
+        seen.add(1, 1, 1);
+        seen.clear();
+
+        assertEquals(0, seen.size());
+        assertFalse(seen.contains(new UUID(1, 1)));
+        assertTrue(seen.add(1, 1, 2));
+    }
+
+    /**
+     * Keys whose home slot is the given one
+     */
+    private static List<long[]> collidingKeys(int tableSize, int homeSlot, int count) {
+        List<long[]> keys = new ArrayList<>();
+        for (long least = 1; keys.size() < count; least++) {
+            if ((SeenEntitySet.hash(42, least) & (tableSize - 1)) == homeSlot) {
+                keys.add(new long[] {42, least});
+            }
+        }
+        return keys;
+    }
+
+    private static UUID uuid(long[] key) {
+        return new UUID(key[0], key[1]);
+    }
+}
@@ -0,0 +1,106 @@
+package com.afiqhasiff.pokealert.client.detection;
+
+import com.afiqhasiff.pokealert.client.Allocations;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class SpawnFilterTest {
+    private static final int ITERATIONS = 1_000_000;
+    // Bulbasaur, Mew, Mewtwo, Lugia, Pecharunt (dex numbers spread across several words)
+    private static final int[] WHITELIST = {1, 150, 151, 249, 1025};
+
+    @Test
+    void matchesWhitelistedSpeciesOnly() {
+        SpawnFilter filter = SpawnFilter.ofSpeciesIds(false, WHITELIST);
+
+        assertEquals(5, filter.size());
+        for (int dex : WHITELIST) {
+            assertTrue(filter.contains(dex), "dex " + dex);
+        }
+        assertFalse(filter.contains(2));
+        assertFalse(filter.contains(64));
+        assertFalse(filter.contains(0));
+        assertFalse(filter.contains(-1));
+        // Past the end of the bitset
+        assertFalse(filter.contains(5000));
+    }
+
+    @Test
+    void shiniesOnlyMatchWhenEnabled() {
+        assertTrue(SpawnFilter.ofSpeciesIds(true, WHITELIST).shouldNotify(2, true));
+        assertFalse(SpawnFilter.ofSpeciesIds(false, WHITELIST).shouldNotify(2, true));
+        assertTrue(SpawnFilter.ofSpeciesIds(false, WHITELIST).shouldNotify(151, false));
+    }
+
+    @Test
+    void blacklistIsKeptApartFromTheWhitelist() {
+        SpawnFilter filter = SpawnFilter.ofSpeciesIds(false, new int[] {129, 1000}, WHITELIST);
+
+        assertTrue(filter.isBlacklisted(129));
+        assertTrue(filter.isBlacklisted(1000));
+        assertFalse(filter.isBlacklisted(151));
+        assertFalse(filter.isBlacklisted(5000));
+        assertFalse(filter.contains(129));
+        assertEquals(5, filter.size());
+    }
+
+    @Test
+    void normalizesNamesToSpeciesIdentifiers() {
+        assertEquals("hooh", SpawnFilter.normalizeName("Ho-Oh"));
+        assertEquals("mrmime", SpawnFilter.normalizeName("Mr. Mime"));
+        assertEquals("flabebe", SpawnFilter.normalizeName("Flabébé"));
+        assertEquals("porygon2", SpawnFilter.normalizeName("Porygon2"));
+    }
+
+    @Test
+    void shouldNotifyDoesNotAllocate() {
+        assumeTrue(Allocations.isSupported());
+        SpawnFilter filter = SpawnFilter.ofSpeciesIds(true, WHITELIST);
+        int[] matches = new int[1];
+        Runnable lookups = () -> {
+            for (int i = 0; i < ITERATIONS; i++) {
+                if (filter.shouldNotify(i & 1023, (i & 7) == 0)) {
+                    matches[0]++;
+                }
+            }
+        };
+
+        long allocated = Allocations.measure(lookups);
+
+        assertTrue(matches[0] > 0);
+        // A few bytes of slack for the measurement itself; any per-call allocation would be megabytes
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes for " + ITERATIONS + " lookups");
+    }
+
+    @Test
+    void allocatesLessThanNameLookup() {
+        assumeTrue(Allocations.isSupported());
+        SpawnFilter filter = SpawnFilter.ofSpeciesIds(false, WHITELIST);
+        // What the filter replaced: normalize the display name, then look it up in a name set
+        Set<String> names = Set.of("bulbasaur", "mewtwo", "mew", "lugia", "pecharunt");
+        String[] displayNames = {"Bulbasaur", "Ivysaur", "Mew", "Mr. Mime", "Ho-Oh", "Lugia"};
+        int[] dexNumbers = {1, 2, 151, 122, 250, 249};
+        int lookups = 100_000;
+
+        Runnable byName = () -> {
+            for (int i = 0; i < lookups; i++) {
+                names.contains(SpawnFilter.normalizeName(displayNames[i % displayNames.length]));
+            }
+        };
+        Runnable byDex = () -> {
+            for (int i = 0; i < lookups; i++) {
+                filter.shouldNotify(dexNumbers[i % dexNumbers.length], false);
+            }
+        };
+
+        long nameBytes = Allocations.measure(byName);
+        long dexBytes = Allocations.measure(byDex);
+        assertTrue(dexBytes < nameBytes / 100, "by dex " + dexBytes + " B, by name " + nameBytes + " B");
+    }
+}
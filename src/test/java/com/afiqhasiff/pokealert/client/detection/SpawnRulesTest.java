@@ -0,0 +1,82 @@
+package com.afiqhasiff.pokealert.client.detection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpawnRulesTest {
+    @Test
+    void tokenizesCompactClauses() {
+        assertClauses("level>=50 dimension=minecraft:the_nether", "level", ">=", "50", "dimension", "=", "minecraft:the_nether");
+    }
+
+    @Test
+    void allowsWhitespaceAroundOperators() {
+        assertClauses("level >= 50", "level", ">=", "50");
+        assertClauses("  level>= 50   shiny =true ", "level", ">=", "50", "shiny", "=", "true");
+        assertClauses("species != dratini level < 10", "species", "!=", "dratini", "level", "<", "10");
+    }
+
+    @Test
+    void joinsCommaSeparatedValues() {
+        assertClauses("aspect=alolan,galarian", "aspect", "=", "alolan,galarian");
+        assertClauses("aspect = alolan, galarian shiny=true", "aspect", "=", "alolan,galarian", "shiny", "=", "true");
+    }
+
+    @Test
+    void readsTwoCharacterOperatorsWhole() {
+        for (String op : new String[] {"=", "!=", ">", ">=", "<", "<="}) {
+            assertClauses("level" + op + "5", "level", op, "5");
+            assertClauses("level " + op + " 5", "level", op, "5");
+        }
+    }
+
+    @Test
+    void keepsBiomeTagsAndIds() {
+        assertClauses("biome = #minecraft:is_ocean", "biome", "=", "#minecraft:is_ocean");
+        assertClauses("BIOME=Minecraft:Plains", "biome", "=", "minecraft:plains");
+    }
+
+    @Test
+    void rejectsMalformedRules() {
+        assertThrows(IllegalArgumentException.class, () -> SpawnRules.tokenize(""));
+        assertThrows(IllegalArgumentException.class, () -> SpawnRules.tokenize("   "));
+        assertThrows(IllegalArgumentException.class, () -> SpawnRules.tokenize("level"));
+        assertThrows(IllegalArgumentException.class, () -> SpawnRules.tokenize("level >="));
+        assertThrows(IllegalArgumentException.class, () -> SpawnRules.tokenize(">= 50"));
+        assertThrows(IllegalArgumentException.class, () -> SpawnRules.tokenize("level => 50"));
+        assertThrows(IllegalArgumentException.class, () -> SpawnRules.tokenize("level>=50dimension=nether"));
+        assertThrows(IllegalArgumentException.class, () -> SpawnRules.tokenize("aspect=alolan,"));
+    }
+
+    @Test
+    void rejectsPropertiesTheClientDoesNotSee() {
+        for (String rule : new String[] {"nature=adamant", "ability=hidden", "ivs>=150", "perfect_ivs = 6", "shiny=true ability=levitate"}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> SpawnRules.compileRule(rule), rule);
+            assertTrue(e.getMessage().contains("isn't synced"), e.getMessage());
+        }
+    }
+
+    @Test
+    void rejectsInvalidClauses() {
+        assertThrows(IllegalArgumentException.class, () -> SpawnRules.compileRule("color=red"));
+        assertThrows(IllegalArgumentException.class, () -> SpawnRules.compileRule("level>=fifty"));
+        assertThrows(IllegalArgumentException.class, () -> SpawnRules.compileRule("shiny>true"));
+        assertThrows(IllegalArgumentException.class, () -> SpawnRules.compileRule("shiny=maybe"));
+    }
+
+    private static void assertClauses(String rule, String... expected) {
+        List<String[]> clauses = SpawnRules.tokenize(rule);
+        assertEquals(expected.length / 3, clauses.size(), rule);
+        for (int i = 0; i < clauses.size(); i++) {
+            String[] clause = clauses.get(i);
+            assertEquals(expected[i * 3], clause[0], rule);
+            assertEquals(expected[i * 3 + 1], clause[1], rule);
+            assertEquals(expected[i * 3 + 2], clause[2], rule);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.afiqhasiff.pokealert.client.notification;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationOutboxTest {
+    // Magic and version
+    private static final int HEADER_SIZE = 8;
+
+    @TempDir
+    File dir;
+
+    @Test
+    void recoversPendingEntriesAndCutsOffATruncatedRecord() throws IOException {
+        File file = new File(dir, "outbox.dat");
+        NotificationOutbox outbox = new NotificationOutbox(file);
+        outbox.load();
+        long mew = outbox.append("Telegram", spawn("Mew"));
+        long lugia = outbox.append("Telegram", spawn("Lugia"));
+        long delivered = outbox.append("Telegram", spawn("Pidgey"));
+        outbox.markDone(delivered);
+        outbox.close();
+
+        // A crash in the middle of the next append: record type, id and half a sink name
+        long validLength = file.length();
+        Files.write(file.toPath(), new byte[] {1, 0, 0, 0, 0, 0, 0, 0, 9, 0, 8, 'T', 'e'}, StandardOpenOption.APPEND);
+
+        NotificationOutbox reopened = new NotificationOutbox(file);
+        reopened.load();
+        List<NotificationOutbox.Pending> recovered = reopened.takeRecovered("Telegram");
+
+        assertEquals(2, recovered.size());
+        assertEquals(mew, recovered.get(0).getId());
+        assertEquals("Mew", recovered.get(0).getData().getPokemonName());
+        assertEquals(lugia, recovered.get(1).getId());
+        assertEquals("Lugia", recovered.get(1).getData().getPokemonName());
+        assertEquals(validLength, file.length());
+        // Ids continue after the recovered ones
+        assertTrue(reopened.append("Telegram", spawn("Mewtwo")) > delivered);
+        reopened.close();
+    }
+
+    @Test
+    void dropsEntriesNoSinkClaimed() throws IOException {
+        File file = new File(dir, "outbox.dat");
+        NotificationOutbox outbox = new NotificationOutbox(file);
+        outbox.load();
+        outbox.append("Telegram", spawn("Mew"));
+        outbox.append("Discord", spawn("Lugia"));
+        outbox.close();
+
+        NotificationOutbox reopened = new NotificationOutbox(file);
+        reopened.load();
+        assertEquals(1, reopened.takeRecovered("Telegram").size());
+        // Discord is no longer registered
+        assertEquals(1, reopened.dropUnclaimed());
+        assertEquals(1, reopened.getPendingCount());
+        assertEquals(0, reopened.dropUnclaimed());
+        reopened.close();
+
+        NotificationOutbox again = new NotificationOutbox(file);
+        again.load();
+        assertEquals(1, again.takeRecovered("Telegram").size());
+        assertTrue(again.takeRecovered("Discord").isEmpty());
+        again.close();
+    }
+
+    @Test
+    void truncatesOnceNothingIsPending() throws IOException {
+        File file = new File(dir, "outbox.dat");
+        NotificationOutbox outbox = new NotificationOutbox(file);
+        outbox.load();
+        outbox.append("Discord", spawn("Mew"));
+        outbox.close();
+
+        NotificationOutbox reopened = new NotificationOutbox(file);
+        reopened.load();
+        reopened.dropUnclaimed();
+        reopened.close();
+
+        assertEquals(0, reopened.getPendingCount());
+        assertEquals(HEADER_SIZE, file.length());
+    }
+
+    private static PokemonSpawnData spawn(String name) {
+        return new PokemonSpawnData(151, name, false, 10, 64, -20, "minecraft:overworld", 1_700_000_000_000L);
+    }
+}
@@ -0,0 +1,103 @@
+package com.afiqhasiff.pokealert.client.util;
+
+import com.afiqhasiff.pokealert.client.Allocations;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class MessageTemplateTest {
+    private static final List<String> FIELDS = List.of("pokemon", "rarity", "x");
+    private static final MessageTemplate.Fields<String[]> VALUES = (values, field, out) -> out.append(values[field]);
+    private static final int RENDERS = 100_000;
+
+    @Test
+    void compilesIntoLiteralsAndFields() {
+        MessageTemplate template = MessageTemplate.compile("A {rarity} {pokemon} at {x}!", FIELDS);
+
+        assertEquals(3, template.getFieldCount());
+        assertEquals("A ", template.getLiteral(0));
+        assertEquals(1, template.getField(0));
+        assertEquals(" ", template.getLiteral(1));
+        assertEquals(0, template.getField(1));
+        assertEquals(" at ", template.getLiteral(2));
+        assertEquals(2, template.getField(2));
+        assertEquals("!", template.getLiteral(3));
+    }
+
+    @Test
+    void rendersFieldsInPlace() {
+        MessageTemplate template = MessageTemplate.compile("{pokemon}{pokemon} ({rarity})", FIELDS);
+
+        assertEquals("MewMew (Mythical)", render(template, MessageTemplate.Escaping.NONE, "Mew", "Mythical", "0"));
+        assertEquals("plain text", render(MessageTemplate.compile("plain text", FIELDS), MessageTemplate.Escaping.NONE));
+        assertEquals("", render(MessageTemplate.compile("", FIELDS), MessageTemplate.Escaping.NONE));
+    }
+
+    @Test
+    void keepsUnknownPlaceholdersAsText() {
+        MessageTemplate template = MessageTemplate.compile("{level} {pokemon} {} {pokemon {x", FIELDS);
+
+        assertEquals(1, template.getFieldCount());
+        assertEquals("{level} Mew {} {pokemon {x", render(template, MessageTemplate.Escaping.NONE, "Mew", "", ""));
+    }
+
+    @Test
+    void escapesFieldValuesButNotLiterals() {
+        MessageTemplate template = MessageTemplate.compile("<b>{pokemon}</b> & {rarity}", FIELDS);
+
+        assertEquals("<b>Mr. &lt;Mime&gt; &amp; &quot;Co&quot;</b> & Rare",
+            render(template, MessageTemplate.Escaping.HTML, "Mr. <Mime> & \"Co\"", "Rare", ""));
+        assertEquals("<b>Mr. <Mime></b> & Rare",
+            render(template, MessageTemplate.Escaping.NONE, "Mr. <Mime>", "Rare", ""));
+    }
+
+    @Test
+    void rendersIntoACallersBuffer() {
+        MessageTemplate line = MessageTemplate.compile("• {pokemon} ({rarity})\n", FIELDS);
+        StringBuilder out = new StringBuilder("<b>Digest</b>\n");
+
+        line.renderTo(out, new String[] {"Mew", "Mythical", ""}, VALUES, MessageTemplate.Escaping.HTML);
+        line.renderTo(out, new String[] {"Ho<Oh>", "Legendary", ""}, VALUES, MessageTemplate.Escaping.HTML);
+
+        assertEquals("<b>Digest</b>\n• Mew (Mythical)\n• Ho&lt;Oh&gt; (Legendary)\n", out.toString());
+    }
+
+    @Test
+    void cachedRecompilesOnlyWhenTheTextChanges() {
+        MessageTemplate.Cached cached = new MessageTemplate.Cached(FIELDS);
+        MessageTemplate first = cached.get("{pokemon} spawned");
+
+        assertSame(first, cached.get("{pokemon} spawned"));
+        assertSame(first, cached.get(new String("{pokemon} spawned")));
+        MessageTemplate changed = cached.get("{pokemon} appeared");
+        assertNotSame(first, changed);
+        assertEquals("{pokemon} appeared", changed.getSource());
+    }
+
+    @Test
+    void renderAllocatesLittleBeyondTheResult() {
+        assumeTrue(Allocations.isSupported());
+        MessageTemplate template = MessageTemplate.compile("A {rarity} {pokemon} spawned at {x}!", FIELDS);
+        String[] values = {"Pikachu", "Common", "-120"};
+        Runnable renders = () -> {
+            for (int i = 0; i < RENDERS; i++) {
+                template.render(values, VALUES, MessageTemplate.Escaping.HTML);
+            }
+        };
+
+        long perRender = Allocations.measure(renders) / RENDERS;
+        // The resulting String (header plus its byte array) is ~80 bytes; a fresh builder
+        // per render, or per-field garbage, would be several times that
+        assertTrue(perRender < 160, perRender + " B per render");
+    }
+
+    private static String render(MessageTemplate template, MessageTemplate.Escaping escaping, String... values) {
+        return template.render(values, VALUES, escaping);
+    }
+}
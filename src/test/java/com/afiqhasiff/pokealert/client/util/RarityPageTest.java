@@ -0,0 +1,145 @@
+package com.afiqhasiff.pokealert.client.util;
+
+import com.afiqhasiff.pokealert.client.Allocations;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The streaming parse against saved species pages, compared with a full
+ * {@link Jsoup#parse} of the same page (the scraper's previous implementation).
+ */
+class RarityPageTest {
+    private static final String BASE_URI = "https://bulbapedia.bulbagarden.net/wiki/";
+    private static final int ROUNDS = 50;
+
+    @Test
+    void findsTheRarityCell() throws IOException {
+        assertEquals("Common", streamed("pikachu.html"));
+    }
+
+    @Test
+    void fallsBackToTheCategoryLinks() throws IOException {
+        assertEquals("Legendary", streamed("mewtwo.html"));
+    }
+
+    @Test
+    void pageWithoutRarityHasNone() throws IOException {
+        assertNull(streamed("missingno.html"));
+    }
+
+    @Test
+    void matchesTheFullParse() throws IOException {
+        for (String fixture : new String[] {"pikachu.html", "mewtwo.html", "missingno.html"}) {
+            assertEquals(fullParse(load(fixture)), streamed(fixture), fixture);
+        }
+    }
+
+    @Test
+    void stopsReadingAtTheRarityCell() throws IOException {
+        String page = load("pikachu.html");
+        CountingReader reader = new CountingReader(new StringReader(page));
+
+        assertEquals("Common", RarityPage.findRarity(reader, BASE_URI));
+        // The infobox is at the top; everything after it is never read
+        assertTrue(reader.count < page.length() / 3, "read " + reader.count + " of " + page.length() + " chars");
+    }
+
+    @Test
+    void costComparedToTheFullParse() throws IOException {
+        assumeTrue(Allocations.isSupported());
+        String page = load("pikachu.html");
+        Runnable streamed = () -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                try {
+                    RarityPage.findRarity(new StringReader(page), BASE_URI);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        Runnable full = () -> {
+            for (int i = 0; i < ROUNDS; i++) {
+                fullParse(page);
+            }
+        };
+
+        long streamedBytes = Allocations.measure(streamed) / ROUNDS;
+        long fullBytes = Allocations.measure(full) / ROUNDS;
+        assertTrue(streamedBytes < fullBytes, streamedBytes + " B streamed vs " + fullBytes + " B full parse");
+    }
+
+    private static String streamed(String fixture) throws IOException {
+        return RarityPage.findRarity(new StringReader(load(fixture)), BASE_URI + fixture);
+    }
+
+    /**
+     * The scraper before streaming: parse the whole page, then look for a "Rarity:"
+     * cell anywhere before falling back to the category links
+     */
+    private static String fullParse(String page) {
+        Document doc = Jsoup.parse(page, BASE_URI);
+        for (Element element : doc.select("td")) {
+            String rarity = RarityPage.cellRarity(element.text());
+            if (rarity != null) {
+                return rarity;
+            }
+        }
+        for (Element element : doc.select("a[title*='Category:']")) {
+            String rarity = RarityPage.categoryRarity(element.attr("title"));
+            if (rarity != null) {
+                return rarity;
+            }
+        }
+        return null;
+    }
+
+    private static String load(String fixture) throws IOException {
+        try (InputStream in = RarityPageTest.class.getResourceAsStream("/bulbapedia/" + fixture)) {
+            if (in == null) {
+                throw new IOException("Missing fixture " + fixture);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class CountingReader extends FilterReader {
+        private long count;
+
+        private CountingReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c >= 0) {
+                count++;
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}